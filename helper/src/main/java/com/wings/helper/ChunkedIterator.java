@@ -0,0 +1,285 @@
+package com.wings.helper;
+
+import android.database.Cursor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Purpose: Walk a table of SQLiteDBHelper in ID (rowid) order, one chunk of rows at a time
+ * <p>
+ * Every chunk is a separate query "ID &gt; last ID of the previous chunk", so memory is bounded
+ * by the chunk size and every row costs the same whatever the size of the table. Blob columns
+ * are not read with the row - only their length is - and their content is read on demand in
+ * slices, so rows with big blobs never have to fit into the cursor window.
+ * <p>
+ * Every slice is one substr query, and SQLite loads the whole blob to cut a slice out of it, so
+ * reading a blob of N bytes in slices of S bytes reads about N * N / S bytes. Use slices as
+ * large as memory allows - openBlob reads blobs up to {@value #MAX_SLICE_SIZE} bytes in one
+ * query - and store blobs much larger than that in chunk rows of their own.
+ * <p>
+ * Use:
+ * <p>
+ * ChunkedIterator rows = liteClass.iterateChunked(new String[]{"Name"}, new String[]{"Photo"}, 500, 0, "DEMO_TABLE");
+ * try {
+ * while (rows.moveToNext()) {
+ * String name = rows.getString(0);
+ * InputStream photo = rows.openBlob(0);
+ * ...
+ * }
+ * } finally {
+ * rows.close();
+ * }
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class ChunkedIterator implements Closeable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    /**
+     * Largest slice openBlob reads by default - below the default cursor window of 2 MB
+     */
+    public static final int MAX_SLICE_SIZE = 1024 * 1024;
+
+    private final SQLiteDBHelper helper;
+    private final String tableName;
+    private final String blobColumns[];
+    private final int columnCount;
+    private final String chunkSQL;
+    private final String chunkSize;
+    private final long windowSize;
+    private Cursor cursor;
+    private int rowsInChunk;
+    private long lastId = Long.MIN_VALUE;
+    private boolean lastChunk;
+    private boolean closed;
+
+    ChunkedIterator(SQLiteDBHelper helper, String columnNames[], String blobColumns[], int chunkSize, long windowSize, String tableName) {
+        this.helper = helper;
+        this.tableName = tableName;
+        this.blobColumns = new String[blobColumns == null ? 0 : blobColumns.length];
+        this.columnCount = columnNames == null ? 0 : columnNames.length;
+        this.chunkSize = String.valueOf(chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE);
+        this.windowSize = windowSize;
+
+        StringBuilder sql = new StringBuilder("SELECT ID");
+        for (int i = 0; i < columnCount; i++) {
+            sql.append(", ").append(columnNames[i].trim().replaceAll(" ", "_"));
+        }
+        for (int i = 0; i < this.blobColumns.length; i++) {
+            this.blobColumns[i] = blobColumns[i].trim().replaceAll(" ", "_");
+            sql.append(", length(").append(this.blobColumns[i]).append(")");
+        }
+        chunkSQL = sql.append(" FROM ").append(tableName).append(" WHERE ID > ? ORDER BY ID LIMIT ?").toString();
+    }
+
+    /**
+     * Move to the next row, reading the next chunk when the current one is done
+     *
+     * @return boolean - false when every row was read
+     */
+    public boolean moveToNext() {
+        if (closed) return false;
+        while (true) {
+            if (cursor != null && cursor.moveToNext()) {
+                rowsInChunk++;
+                lastId = cursor.getLong(0);
+                return true;
+            }
+            if (cursor != null) {
+                lastChunk = rowsInChunk < Integer.parseInt(chunkSize);
+                cursor.close();
+                cursor = null;
+            }
+            if (lastChunk) return false;
+            // Window size can be chosen from Android 9 - it is set before the first row is read
+            cursor = helper.rawQuery(chunkSQL, new String[]{String.valueOf(lastId), chunkSize}, null, windowSize);
+            rowsInChunk = 0;
+        }
+    }
+
+    /**
+     * Get ID of the current row
+     *
+     * @return Long ID
+     */
+    public long getId() {
+        return lastId;
+    }
+
+    /**
+     * Check whether the column of the current row is null
+     *
+     * @param column Integer position in columnNames
+     * @return boolean - true if null
+     */
+    public boolean isNull(int column) {
+        return cursor.isNull(column + 1);
+    }
+
+    /**
+     * Get column of the current row as long
+     *
+     * @param column Integer position in columnNames
+     * @return Long value
+     */
+    public long getLong(int column) {
+        return cursor.getLong(column + 1);
+    }
+
+    /**
+     * Get column of the current row as double
+     *
+     * @param column Integer position in columnNames
+     * @return Double value
+     */
+    public double getDouble(int column) {
+        return cursor.getDouble(column + 1);
+    }
+
+    /**
+     * Get column of the current row as String
+     *
+     * @param column Integer position in columnNames
+     * @return String value
+     */
+    public String getString(int column) {
+        return cursor.getString(column + 1);
+    }
+
+    /**
+     * Get length of the blob of the current row without reading it
+     *
+     * @param blobColumn Integer position in blobColumns
+     * @return Long length in bytes, -1 if the blob is null
+     */
+    public long getBlobLength(int blobColumn) {
+        int index = columnCount + 1 + blobColumn;
+        return cursor.isNull(index) ? -1 : cursor.getLong(index);
+    }
+
+    /**
+     * Read a slice of the blob of the current row - SQLite loads the whole blob for every slice
+     *
+     * @param blobColumn Integer position in blobColumns
+     * @param offset     Long offset of the first byte
+     * @param length     Integer maximum number of bytes - keep it well below the cursor window size
+     * @return byte array with the slice, shorter than length at the end of the blob, null if the blob is null
+     */
+    public byte[] readBlob(int blobColumn, long offset, int length) {
+        return readBlob(blobColumns[blobColumn], lastId, offset, length);
+    }
+
+    /**
+     * Open stream over the blob of the current row - blobs up to {@value #MAX_SLICE_SIZE} bytes
+     * are read in one query, larger ones in slices of that size
+     *
+     * @param blobColumn Integer position in blobColumns
+     * @return InputStream or null if the blob is null
+     */
+    public InputStream openBlob(int blobColumn) {
+        return openBlob(blobColumn, 0);
+    }
+
+    /**
+     * Open stream over the blob of the current row - the blob is read in slices while the stream
+     * is read, and the stream stays valid after moving to the next row
+     * <p>
+     * SQLite loads the whole blob for every slice, so small slices of a big blob are slow - see
+     * the class description.
+     *
+     * @param blobColumn Integer position in blobColumns
+     * @param sliceSize  Integer number of bytes read per query, 0 or less for the whole blob up to {@value #MAX_SLICE_SIZE}
+     * @return InputStream or null if the blob is null
+     */
+    public InputStream openBlob(int blobColumn, int sliceSize) {
+        long length = getBlobLength(blobColumn);
+        if (length < 0) return null;
+        if (sliceSize <= 0) sliceSize = (int) Math.max(1, Math.min(length, MAX_SLICE_SIZE));
+        return new BlobInputStream(blobColumns[blobColumn], lastId, length, sliceSize);
+    }
+
+    /**
+     * Close the current chunk - the iterator can not be used afterwards
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (cursor != null) {
+            cursor.close();
+            cursor = null;
+        }
+    }
+
+    /**
+     * Read a slice of a blob with substr, which works on bytes for blobs
+     *
+     * @param blobColumn String blob column name
+     * @param id         Long ID of the row
+     * @param offset     Long offset of the first byte
+     * @param length     Integer maximum number of bytes
+     * @return byte array, null if the blob is null
+     */
+    private byte[] readBlob(String blobColumn, long id, long offset, int length) {
+        Cursor slice = helper.rawQuery("SELECT substr(" + blobColumn + ", ?, ?) FROM " + tableName + " WHERE ID = ?",
+                new String[]{String.valueOf(offset + 1), String.valueOf(length), String.valueOf(id)}, null);
+        try {
+            return slice.moveToFirst() && !slice.isNull(0) ? slice.getBlob(0) : null;
+        } finally {
+            slice.close();
+        }
+    }
+
+    /**
+     * Stream reading a blob slice by slice
+     */
+    private class BlobInputStream extends InputStream {
+        private final String blobColumn;
+        private final long id;
+        private final long length;
+        private final int sliceSize;
+        private byte slice[] = new byte[0];
+        private int slicePosition;
+        private long position;
+
+        BlobInputStream(String blobColumn, long id, long length, int sliceSize) {
+            this.blobColumn = blobColumn;
+            this.id = id;
+            this.length = length;
+            this.sliceSize = sliceSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte one[] = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte buffer[], int offset, int count) throws IOException {
+            if (count == 0) return 0;
+            if (slicePosition == slice.length) {
+                if (position >= length) return -1;
+                slice = readBlob(blobColumn, id, position, sliceSize);
+                slicePosition = 0;
+                if (slice == null || slice.length == 0) {
+                    throw new IOException("Blob of row " + id + " changed while it was read");
+                }
+            }
+            int read = Math.min(count, slice.length - slicePosition);
+            System.arraycopy(slice, slicePosition, buffer, offset, read);
+            slicePosition += read;
+            position += read;
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return slice.length - slicePosition;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.wings.helper;
+
+import android.database.Cursor;
+
+import java.io.Closeable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Purpose: Walk a table page by page with keyset pagination
+ * <p>
+ * Every page continues after the order column value and ID of the last row of the previous
+ * page, so the cost of a page does not grow with the number of rows already read.
+ * Optionally the next page is fetched on a background thread while the current one is used.
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class KeysetPager implements Closeable {
+
+    private static final String TAG = "KeysetPager";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 10000;
+
+    private final SQLiteDBHelper helper;
+    private final int columnNumber;
+    private final String orderColumn;
+    private final boolean ascending;
+    private final int pageSize;
+    private final String tableName;
+    private ExecutorService prefetchExecutor;
+    private Future<Cursor> nextPage;
+    private boolean hasLastKey = false;
+    private Object lastValue;
+    private long lastId;
+    private boolean hasMorePages = true;
+    private boolean closed = false;
+
+    /**
+     * Create pager over the table - use SQLiteDBHelper.getPagedDataOrderedBy
+     *
+     * @param helper       SQLiteDBHelper of the table
+     * @param columnNumber Integer column number to order by, 0 for ID
+     * @param ascending    boolean - true for ascending - false for descending
+     * @param pageSize     Integer page size hint, 0 or less for the default page size
+     * @param prefetch     boolean - true to fetch the next page on a background thread
+     * @param tableName    name of table
+     */
+    KeysetPager(SQLiteDBHelper helper, int columnNumber, boolean ascending, int pageSize, boolean prefetch, String tableName) {
+        this.helper = helper;
+        this.columnNumber = columnNumber;
+        this.orderColumn = helper.getAllColumns()[columnNumber];
+        this.ascending = ascending;
+        this.pageSize = pageSize <= 0 ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+        this.tableName = tableName;
+        if (prefetch) {
+            prefetchExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    // Daemon, so a pager dropped without close does not keep the process alive
+                    Thread thread = new Thread(runnable, "KeysetPager-prefetch");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+    }
+
+    /**
+     * Get page size used by the pager
+     *
+     * @return Integer page size
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Check if there may be more pages to read
+     *
+     * @return boolean - false once the last page was returned
+     */
+    public synchronized boolean hasMorePages() {
+        return hasMorePages && !closed;
+    }
+
+    /**
+     * Get the next page - caller must close the returned cursor
+     *
+     * @return cursor of the next page, null if there are no more rows
+     */
+    public synchronized Cursor nextPage() {
+        if (!hasMorePages()) return null;
+
+        Cursor page = null;
+        if (nextPage != null) {
+            try {
+                page = nextPage.get();
+            } catch (Exception e) {
+                LogHelper.w(TAG, "nextPage: prefetch failed - " + e.getMessage());
+            }
+            nextPage = null;
+        }
+        if (page == null) {
+            page = fetchPage(hasLastKey, lastValue, lastId);
+        }
+
+        int count = page.getCount();
+        if (count < pageSize) {
+            hasMorePages = false;
+        }
+        if (count == 0) {
+            page.close();
+            return null;
+        }
+
+        page.moveToLast();
+        lastValue = getValue(page, page.getColumnIndexOrThrow(orderColumn));
+        lastId = page.getLong(page.getColumnIndexOrThrow("ID"));
+        hasLastKey = true;
+        page.moveToPosition(-1);
+
+        if (hasMorePages && prefetchExecutor != null) {
+            final Object value = lastValue;
+            final long id = lastId;
+            nextPage = prefetchExecutor.submit(new Callable<Cursor>() {
+                @Override
+                public Cursor call() {
+                    return fetchPage(true, value, id);
+                }
+            });
+        }
+        return page;
+    }
+
+    /**
+     * Read the order column value by its type - getString would round REAL values to 15 digits
+     * and the next page would repeat or skip rows
+     *
+     * @param page  cursor on the last row of the page
+     * @param index Integer column index
+     * @return Long, Double, String, byte[] or null
+     */
+    private static Object getValue(Cursor page, int index) {
+        switch (page.getType(index)) {
+            case Cursor.FIELD_TYPE_INTEGER:
+                return page.getLong(index);
+            case Cursor.FIELD_TYPE_FLOAT:
+                return page.getDouble(index);
+            case Cursor.FIELD_TYPE_BLOB:
+                return page.getBlob(index);
+            case Cursor.FIELD_TYPE_NULL:
+                return null;
+            default:
+                return page.getString(index);
+        }
+    }
+
+    /**
+     * Run the page query and fill the first cursor window
+     */
+    private Cursor fetchPage(boolean hasLastKey, Object lastValue, long lastId) {
+        Cursor page = helper.getDataPage(columnNumber, ascending, hasLastKey, lastValue, lastId, pageSize, tableName);
+        page.getCount();
+        return page;
+    }
+
+    /**
+     * Stop the pager and release the prefetched page
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (nextPage != null) {
+            try {
+                Cursor page = nextPage.get();
+                if (page != null) page.close();
+            } catch (Exception e) {
+                LogHelper.w(TAG, "close: prefetch failed - " + e.getMessage());
+            }
+            nextPage = null;
+        }
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.wings.helper;
+
+import android.database.Cursor;
+
+import com.wings.utils.RowMapper;
+
+import java.util.ArrayList;
+
+/**
+ * Purpose: Build a query on one table of SQLiteDBHelper with projection, where, group by,
+ * having, order by and limit - only the selected columns are read from SQLite
+ * <p>
+ * Arguments are bound with their own type (long, double, String, byte[]), and limit and offset
+ * are bound too, so reading page after page reuses one statement shape. The built SQL is kept
+ * until the builder is changed; aggregates run on compiled statements from the statement cache.
+ * <p>
+ * Use:
+ * <p>
+ * Cursor cursor = liteClass.query("DEMO_TABLE")
+ * .select("Name", "Age")
+ * .where("Age &gt; ?", 18)
+ * .orderBy("Name", true)
+ * .limit(20)
+ * .query();
+ * <p>
+ * long adults = liteClass.query("DEMO_TABLE").count().where("Age &gt;= ?", 18).queryForLong();
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class QueryBuilder {
+
+    private final SQLiteDBHelper helper;
+    private final String tableName;
+    private final ArrayList<String> projection = new ArrayList<>();
+    private final ArrayList<String> where = new ArrayList<>();
+    private final ArrayList<Object> whereArgs = new ArrayList<>();
+    private final ArrayList<String> groupBy = new ArrayList<>();
+    private String having;
+    private Object havingArgs[] = new Object[0];
+    private final ArrayList<String> orderBy = new ArrayList<>();
+    private int limit = -1;
+    private int offset = 0;
+    private String sql;
+
+    QueryBuilder(SQLiteDBHelper helper, String tableName) {
+        this.helper = helper;
+        this.tableName = tableName.trim().replaceAll(" ", "_");
+    }
+
+    /**
+     * Add columns or expressions to the projection - without any, every column is read
+     *
+     * @param columns String array of column names or expressions
+     * @return QueryBuilder
+     */
+    public QueryBuilder select(String... columns) {
+        for (String column : columns) {
+            projection.add(normalize(column));
+        }
+        sql = null;
+        return this;
+    }
+
+    /**
+     * Add COUNT(*) to the projection
+     *
+     * @return QueryBuilder
+     */
+    public QueryBuilder count() {
+        return aggregate("COUNT", "*");
+    }
+
+    /**
+     * Add COUNT(column) - the number of non null values - to the projection
+     *
+     * @param column String column name
+     * @return QueryBuilder
+     */
+    public QueryBuilder count(String column) {
+        return aggregate("COUNT", column);
+    }
+
+    /**
+     * Add SUM(column) to the projection
+     *
+     * @param column String column name
+     * @return QueryBuilder
+     */
+    public QueryBuilder sum(String column) {
+        return aggregate("SUM", column);
+    }
+
+    /**
+     * Add AVG(column) to the projection
+     *
+     * @param column String column name
+     * @return QueryBuilder
+     */
+    public QueryBuilder avg(String column) {
+        return aggregate("AVG", column);
+    }
+
+    /**
+     * Add MIN(column) to the projection
+     *
+     * @param column String column name
+     * @return QueryBuilder
+     */
+    public QueryBuilder min(String column) {
+        return aggregate("MIN", column);
+    }
+
+    /**
+     * Add MAX(column) to the projection
+     *
+     * @param column String column name
+     * @return QueryBuilder
+     */
+    public QueryBuilder max(String column) {
+        return aggregate("MAX", column);
+    }
+
+    /**
+     * Add condition - every condition must match
+     *
+     * @param selection String condition with ? for every argument, for example "Age &gt; ?"
+     * @param args      values of the arguments (String, Number, Boolean, byte[] or null)
+     * @return QueryBuilder
+     */
+    public QueryBuilder where(String selection, Object... args) {
+        where.add(selection);
+        if (args != null) {
+            for (Object arg : args) {
+                whereArgs.add(arg);
+            }
+        }
+        sql = null;
+        return this;
+    }
+
+    /**
+     * Add "column = value" condition
+     *
+     * @param column String column name
+     * @param value  value to match
+     * @return QueryBuilder
+     */
+    public QueryBuilder whereEquals(String column, Object value) {
+        return where(normalize(column) + " = ?", value);
+    }
+
+    /**
+     * Group rows by the columns
+     *
+     * @param columns String array of column names
+     * @return QueryBuilder
+     */
+    public QueryBuilder groupBy(String... columns) {
+        for (String column : columns) {
+            groupBy.add(normalize(column));
+        }
+        sql = null;
+        return this;
+    }
+
+    /**
+     * Set condition on the groups
+     *
+     * @param having String condition with ? for every argument, for example "COUNT(*) &gt; ?"
+     * @param args   values of the arguments
+     * @return QueryBuilder
+     */
+    public QueryBuilder having(String having, Object... args) {
+        this.having = having;
+        havingArgs = args == null ? new Object[0] : args;
+        sql = null;
+        return this;
+    }
+
+    /**
+     * Add column to the order
+     *
+     * @param column    String column name
+     * @param ascending boolean - true for ascending - false for descending
+     * @return QueryBuilder
+     */
+    public QueryBuilder orderBy(String column, boolean ascending) {
+        orderBy.add(normalize(column) + (ascending ? "" : " DESC"));
+        sql = null;
+        return this;
+    }
+
+    /**
+     * Set maximum number of rows
+     *
+     * @param limit Integer limit, negative for no limit
+     * @return QueryBuilder
+     */
+    public QueryBuilder limit(int limit) {
+        if ((this.limit < 0) != (limit < 0)) sql = null;
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Set number of rows to skip
+     *
+     * @param offset Integer offset
+     * @return QueryBuilder
+     */
+    public QueryBuilder offset(int offset) {
+        if ((this.offset > 0) != (offset > 0)) sql = null;
+        this.offset = Math.max(offset, 0);
+        return this;
+    }
+
+    /**
+     * Get the SQL of the query - limit and offset are bind arguments
+     *
+     * @return String SQL
+     */
+    public String toSQL() {
+        if (sql != null) return sql;
+        StringBuilder builder = new StringBuilder("SELECT ");
+        builder.append(projection.isEmpty() ? "*" : join(projection, ", "));
+        builder.append(" FROM ").append(tableName);
+        if (!where.isEmpty()) builder.append(" WHERE (").append(join(where, ") AND (")).append(")");
+        if (!groupBy.isEmpty()) builder.append(" GROUP BY ").append(join(groupBy, ", "));
+        if (having != null) builder.append(" HAVING ").append(having);
+        if (!orderBy.isEmpty()) builder.append(" ORDER BY ").append(join(orderBy, ", "));
+        if (limit >= 0 || offset > 0) builder.append(" LIMIT ?");
+        if (offset > 0) builder.append(" OFFSET ?");
+        sql = builder.toString();
+        return sql;
+    }
+
+    /**
+     * Get the bind arguments of the query in order
+     *
+     * @return Object array of arguments
+     */
+    public Object[] getArgs() {
+        ArrayList<Object> args = new ArrayList<>(whereArgs);
+        for (Object arg : havingArgs) {
+            args.add(arg);
+        }
+        if (limit >= 0 || offset > 0) args.add((long) limit);
+        if (offset > 0) args.add((long) offset);
+        return args.toArray();
+    }
+
+    /**
+     * Run the query
+     *
+     * @return cursor
+     */
+    public Cursor query() {
+        return helper.rawQueryTyped(toSQL(), getArgs());
+    }
+
+    /**
+     * Run the query and stream the rows to the row mapper - the cursor is closed at the end
+     *
+     * @param mapper RowMapper called for every row
+     * @return Integer number of rows passed to the mapper
+     */
+    public int forEach(RowMapper mapper) {
+        return helper.forEachRow(query(), null, mapper);
+    }
+
+    /**
+     * Run the query and get the first column of the first row as long - meant for aggregates
+     *
+     * @return Long value
+     * @throws android.database.sqlite.SQLiteDoneException if the query returns no rows
+     */
+    public long queryForLong() {
+        return helper.simpleQueryForLong(toSQL(), getArgs());
+    }
+
+    /**
+     * Run the query and get the first column of the first row as String
+     *
+     * @return String value, may be null
+     * @throws android.database.sqlite.SQLiteDoneException if the query returns no rows
+     */
+    public String queryForString() {
+        return helper.simpleQueryForString(toSQL(), getArgs());
+    }
+
+    /**
+     * Add aggregate function of the column to the projection
+     *
+     * @param function String aggregate function
+     * @param column   String column name or *
+     * @return QueryBuilder
+     */
+    private QueryBuilder aggregate(String function, String column) {
+        projection.add(function + "(" + normalize(column) + ")");
+        sql = null;
+        return this;
+    }
+
+    /**
+     * Replace spaces in plain column names like the rest of the helper - expressions are kept
+     *
+     * @param column String column name or expression
+     * @return String column
+     */
+    private static String normalize(String column) {
+        String trimmed = column.trim();
+        return trimmed.matches("[A-Za-z0-9_ ]+") ? trimmed.replaceAll(" ", "_") : trimmed;
+    }
+
+    /**
+     * Join the parts with the separator
+     *
+     * @param parts     ArrayList of parts
+     * @param separator String separator
+     * @return String joined parts
+     */
+    private static String join(ArrayList<String> parts, String separator) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < parts.size(); i++) {
+            builder.append(i == 0 ? "" : separator).append(parts.get(i));
+        }
+        return builder.toString();
+    }
+}
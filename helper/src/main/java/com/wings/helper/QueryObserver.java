@@ -0,0 +1,230 @@
+package com.wings.helper;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.wings.utils.CachedResult;
+import com.wings.utils.OnQueryChanged;
+import com.wings.utils.QueryDiff;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purpose: Query observed with SQLiteDBHelper.observe - runs again on a background thread
+ * after writes to its tables and reports the new result to the listener on the main thread
+ * <p>
+ * Writes arriving within the debounce time of the first write are coalesced into one run,
+ * and writes arriving while the query runs schedule exactly one more run. When the result
+ * has an ID column the listener also gets the IDs of inserted, updated and deleted rows;
+ * results which did not change are not reported.
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class QueryObserver {
+
+    private static final String TAG = "QueryObserver";
+
+    private final SQLiteDBHelper helper;
+    private final String sql;
+    private final String args[];
+    private final HashSet<String> tableNames = new HashSet<>();
+    private final long debounceMs;
+    private final OnQueryChanged listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable runQuery = new Runnable() {
+        @Override
+        public void run() {
+            runQuery();
+        }
+    };
+    private volatile boolean cancelled;
+    private boolean scheduled, running, dirty;
+    private ScheduledFuture<?> future;
+    private CachedResult lastResult;
+    private HashMap<Long, Object[]> lastRows;
+
+    QueryObserver(SQLiteDBHelper helper, String sql, String args[], long debounceMs, OnQueryChanged listener, String tableNames[]) {
+        this.helper = helper;
+        this.sql = sql;
+        this.args = args;
+        this.debounceMs = Math.max(debounceMs, 0);
+        this.listener = listener;
+        for (String tableName : tableNames) {
+            this.tableNames.add(tableName.trim().toUpperCase(Locale.US));
+        }
+    }
+
+    /**
+     * Stop observing - no result is reported after this call
+     */
+    public void cancel() {
+        cancelled = true;
+        helper.removeObserver(this);
+        synchronized (this) {
+            if (future != null) future.cancel(false);
+            scheduled = false;
+        }
+    }
+
+    /**
+     * Check if the observer was cancelled
+     *
+     * @return boolean - true if cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Check if the query reads the table
+     *
+     * @param tableName name of table
+     * @return boolean - true if the query is run again after writes to the table
+     */
+    boolean observes(String tableName) {
+        return tableNames.contains(tableName.trim().toUpperCase(Locale.US));
+    }
+
+    /**
+     * Schedule a run of the query - called by SQLiteDBHelper after every write to an observed table
+     *
+     * @param delayMs Long delay before the run in milliseconds
+     */
+    synchronized void onTableChanged(long delayMs) {
+        if (cancelled) return;
+        if (running) {
+            dirty = true;
+            return;
+        }
+        if (scheduled) return;
+        scheduled = true;
+        future = helper.getObserverExecutor().schedule(runQuery, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Forget the scheduled run - called by SQLiteDBHelper when its observer thread is stopped
+     */
+    synchronized void onExecutorShutdown() {
+        scheduled = false;
+        future = null;
+    }
+
+    /**
+     * Schedule a run of the query after the debounce time
+     */
+    void onTableChanged() {
+        onTableChanged(debounceMs);
+    }
+
+    /**
+     * Run the query, compare it with the last result and report it if it changed
+     */
+    private void runQuery() {
+        synchronized (this) {
+            if (cancelled) return;
+            scheduled = false;
+            running = true;
+            dirty = false;
+        }
+        try {
+            final CachedResult result = CachedResult.fromCursor(helper.rawQuery(sql, args, null));
+            final QueryDiff diff = diff(result);
+            boolean changed = diff != null ? lastResult == null || !diff.isEmpty() : !sameRows(lastResult, result);
+            lastResult = result;
+            if (changed) {
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!cancelled) listener.onQueryChanged(result, diff);
+                    }
+                });
+            }
+        } catch (final Exception e) {
+            LogHelper.w(TAG, "Observed query failed - " + e.getMessage());
+            mainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (!cancelled) listener.onQueryFailed(e);
+                }
+            });
+        } finally {
+            synchronized (this) {
+                running = false;
+                if (dirty) {
+                    dirty = false;
+                    onTableChanged();
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare the result with the last result by the ID column
+     *
+     * @param result CachedResult of the query
+     * @return QueryDiff or null if the result has no ID column
+     */
+    private QueryDiff diff(CachedResult result) {
+        int idIndex = result.getColumnIndex("ID");
+        if (idIndex == -1) return null;
+
+        HashMap<Long, Object[]> rows = new HashMap<>();
+        ArrayList<Long> inserted = new ArrayList<>(), updated = new ArrayList<>(), deleted = new ArrayList<>();
+        for (int i = 0; i < result.getCount(); i++) {
+            Object row[] = result.getRow(i);
+            if (!(row[idIndex] instanceof Long)) continue;
+            Long id = (Long) row[idIndex];
+            rows.put(id, row);
+            Object lastRow[] = lastRows == null ? null : lastRows.get(id);
+            if (lastRow == null) {
+                inserted.add(id);
+            } else if (!Arrays.deepEquals(lastRow, row)) {
+                updated.add(id);
+            }
+        }
+        if (lastRows != null) {
+            for (Long id : lastRows.keySet()) {
+                if (!rows.containsKey(id)) deleted.add(id);
+            }
+        }
+        lastRows = rows;
+        return new QueryDiff(toArray(inserted), toArray(updated), toArray(deleted));
+    }
+
+    /**
+     * Check if both results have the same rows in the same order
+     *
+     * @param first  CachedResult, may be null
+     * @param second CachedResult
+     * @return boolean - true if the rows are equal
+     */
+    private static boolean sameRows(CachedResult first, CachedResult second) {
+        if (first == null || first.getCount() != second.getCount()) return false;
+        for (int i = 0; i < first.getCount(); i++) {
+            if (!Arrays.deepEquals(first.getRow(i), second.getRow(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Copy list of IDs to an array
+     *
+     * @param list ArrayList of IDs
+     * @return Long array of IDs
+     */
+    private static long[] toArray(ArrayList<Long> list) {
+        long array[] = new long[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+}
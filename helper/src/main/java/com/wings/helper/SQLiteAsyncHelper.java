@@ -0,0 +1,420 @@
+package com.wings.helper;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.os.Build;
+import android.os.CancellationSignal;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.wings.utils.OnQueryCompleted;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Purpose: Run SQLiteDBHelper operations off the main thread
+ * <p>
+ * Writes run one by one on a single writer thread, reads run on a bounded pool of reader
+ * threads sized by DatabaseConfiguration.getReaderPoolSize(). Every operation returns a
+ * Future which can be cancelled, and reports its result to the optional listener on the
+ * main thread.
+ * <p>
+ * Use:
+ * <p>
+ * SQLiteAsyncHelper async = liteClass.async();
+ * async.open(null);
+ * async.getAllData("DEMO_TABLE", new OnQueryCompleted&lt;Cursor&gt;() {...});
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class SQLiteAsyncHelper {
+
+    private static final String TAG = "SQLiteAsyncHelper";
+    private static final long READER_KEEP_ALIVE_SECONDS = 30;
+
+    private final SQLiteDBHelper helper;
+    private final ExecutorService writeExecutor;
+    private final ThreadPoolExecutor readExecutor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Set<OperationTask<?>> running = Collections.newSetFromMap(new ConcurrentHashMap<OperationTask<?>, Boolean>());
+
+    SQLiteAsyncHelper(SQLiteDBHelper helper, int readerPoolSize) {
+        this.helper = helper;
+        writeExecutor = Executors.newSingleThreadExecutor(newThreadFactory("SQLiteDBHelper-writer"));
+        readExecutor = new ThreadPoolExecutor(readerPoolSize, readerPoolSize,
+                READER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                newThreadFactory("SQLiteDBHelper-reader"));
+        readExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Open the database on the writer thread, so onCreate/onUpgrade never run on the main thread
+     *
+     * @param listener OnQueryCompleted - optional
+     * @return Future
+     */
+    public Future<Boolean> open(OnQueryCompleted<Boolean> listener) {
+        return write(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return helper.getDatabase().isOpen();
+            }
+        }, listener);
+    }
+
+    /**
+     * Insert row into table on the writer thread
+     *
+     * @param tableName     name of table
+     * @param contentValues content values
+     * @param listener      OnQueryCompleted - row ID of the new row, -1 on error
+     * @return Future
+     */
+    public Future<Long> insert(final String tableName, final ContentValues contentValues, OnQueryCompleted<Long> listener) {
+        return write(new Callable<Long>() {
+            @Override
+            public Long call() {
+                return helper.insertData(tableName, contentValues);
+            }
+        }, listener);
+    }
+
+    /**
+     * Bulk insert rows into table on the writer thread - see SQLiteDBHelper.bulkInsert
+     *
+     * @param columnNames    String array of column names - order of values in each row
+     * @param rows           List of rows
+     * @param commitInterval Integer number of rows per transaction, 0 or less to commit once at the end
+     * @param tableName      name of table
+     * @param listener       OnQueryCompleted - number of rows inserted in each batch
+     * @return Future
+     */
+    public Future<int[]> bulkInsert(final String columnNames[], final List<Object[]> rows, final int commitInterval,
+                                    final String tableName, OnQueryCompleted<int[]> listener) {
+        return write(new Callable<int[]>() {
+            @Override
+            public int[] call() {
+                return helper.bulkInsert(columnNames, rows, commitInterval, tableName);
+            }
+        }, listener);
+    }
+
+    /**
+     * Update rows of table on the writer thread
+     *
+     * @param tableName     name of table
+     * @param contentValues content values
+     * @param query         where clause
+     * @param listener      OnQueryCompleted - number of rows affected
+     * @return Future
+     */
+    public Future<Integer> update(final String tableName, final ContentValues contentValues, final String query,
+                                  OnQueryCompleted<Integer> listener) {
+        return write(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return helper.updateData(tableName, contentValues, query);
+            }
+        }, listener);
+    }
+
+    /**
+     * Delete rows of table on the writer thread
+     *
+     * @param tableName name of table
+     * @param query     where clause, null to delete every row
+     * @param args      String array of bind arguments
+     * @param listener  OnQueryCompleted - number of rows deleted
+     * @return Future
+     */
+    public Future<Integer> delete(final String tableName, final String query, final String args[],
+                                  OnQueryCompleted<Integer> listener) {
+        return write(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return helper.deleteData(tableName, query, args);
+            }
+        }, listener);
+    }
+
+    /**
+     * Delete the row by it's ID on the writer thread
+     *
+     * @param id        Integer ID of the row
+     * @param tableName name of table
+     * @param listener  OnQueryCompleted - true if row is deleted
+     * @return Future
+     */
+    public Future<Boolean> deleteRow(final int id, final String tableName, OnQueryCompleted<Boolean> listener) {
+        return write(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return helper.deleteRow(id, tableName);
+            }
+        }, listener);
+    }
+
+    /**
+     * Run query on a reader thread - the first cursor window is filled before the listener is called
+     * <p>
+     * Cancelling the future also interrupts the running query (Android 4.1 and above)
+     *
+     * @param sql      String SQL query
+     * @param args     String array of bind arguments
+     * @param listener OnQueryCompleted - cursor, must be closed by the listener
+     * @return Future
+     */
+    public Future<Cursor> query(final String sql, final String args[], OnQueryCompleted<Cursor> listener) {
+        final CancellationSignal signal = Build.VERSION.SDK_INT >= 16 ? new CancellationSignal() : null;
+        return submit(readExecutor, new Callable<Cursor>() {
+            @Override
+            public Cursor call() {
+                Cursor cursor = helper.rawQuery(sql, args, signal);
+                cursor.getCount();
+                if (Thread.currentThread().isInterrupted()) {
+                    // Cancelled while running - nobody will receive the cursor
+                    cursor.close();
+                    return null;
+                }
+                return cursor;
+            }
+        }, signal, listener);
+    }
+
+    /**
+     * Get all data from table on a reader thread
+     *
+     * @param tableName name of table
+     * @param listener  OnQueryCompleted - cursor, must be closed by the listener
+     * @return Future
+     */
+    public Future<Cursor> getAllData(String tableName, OnQueryCompleted<Cursor> listener) {
+        return query("select * from " + tableName, null, listener);
+    }
+
+    /**
+     * Get one row from the table by row ID on a reader thread
+     *
+     * @param rowID     Integer row ID
+     * @param tableName name of table
+     * @param listener  OnQueryCompleted - cursor or null if not found
+     * @return Future
+     */
+    public Future<Cursor> getOneRowData(final int rowID, final String tableName, OnQueryCompleted<Cursor> listener) {
+        return read(new Callable<Cursor>() {
+            @Override
+            public Cursor call() {
+                return helper.getOneRowData(rowID, tableName);
+            }
+        }, listener);
+    }
+
+    /**
+     * Search data from the table on a reader thread
+     *
+     * @param columnName    String column name in which you want to search
+     * @param valueToSearch String value which you want to search
+     * @param limit         Integer limit - to set the limit of the result
+     * @param tableName     name of table
+     * @param listener      OnQueryCompleted - cursor or null if not found
+     * @return Future
+     */
+    public Future<Cursor> searchInColumn(final String columnName, final String valueToSearch, final int limit,
+                                         final String tableName, OnQueryCompleted<Cursor> listener) {
+        return read(new Callable<Cursor>() {
+            @Override
+            public Cursor call() {
+                return helper.searchInColumn(columnName, valueToSearch, limit, tableName);
+            }
+        }, listener);
+    }
+
+    /**
+     * Run any read operation of SQLiteDBHelper on a reader thread
+     *
+     * @param task     Callable calling the helper
+     * @param listener OnQueryCompleted - optional
+     * @return Future
+     */
+    public <T> Future<T> read(Callable<T> task, OnQueryCompleted<T> listener) {
+        return submit(readExecutor, task, null, listener);
+    }
+
+    /**
+     * Run any write operation of SQLiteDBHelper on the writer thread
+     *
+     * @param task     Callable calling the helper
+     * @param listener OnQueryCompleted - optional
+     * @return Future
+     */
+    public <T> Future<T> write(Callable<T> task, OnQueryCompleted<T> listener) {
+        return submit(writeExecutor, task, null, listener);
+    }
+
+    /**
+     * Stop the worker threads - queued operations are still run
+     */
+    public void shutdown() {
+        writeExecutor.shutdown();
+        readExecutor.shutdown();
+    }
+
+    /**
+     * Stop the worker threads and wait for the running operations - queued operations are
+     * cancelled without running and running queries are cancelled through their signal
+     *
+     * @param timeoutMs Long maximum time to wait in milliseconds
+     * @return boolean - true if every worker thread stopped in time
+     */
+    public boolean shutdownNow(long timeoutMs) {
+        cancelAll(writeExecutor.shutdownNow());
+        cancelAll(readExecutor.shutdownNow());
+        for (OperationTask<?> operation : running) {
+            operation.cancel(true);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        try {
+            return writeExecutor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)
+                    && readExecutor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Cancel operations which never started, so their futures do not wait forever
+     *
+     * @param operations Runnable list returned by shutdownNow
+     */
+    private static void cancelAll(List<Runnable> operations) {
+        for (Runnable operation : operations) {
+            if (operation instanceof Future) ((Future<?>) operation).cancel(false);
+        }
+    }
+
+    private <T> Future<T> submit(ExecutorService executor, Callable<T> task, CancellationSignal signal,
+                                 OnQueryCompleted<T> listener) {
+        OperationTask<T> operation = new OperationTask<>(task, signal, listener);
+        executor.execute(operation);
+        return operation;
+    }
+
+    /**
+     * Close the result of an operation nobody will receive
+     *
+     * @param result cursor or other closeable result
+     */
+    private static void closeResult(Object result) {
+        if (result instanceof Cursor) {
+            ((Cursor) result).close();
+        } else if (result instanceof Closeable) {
+            try {
+                ((Closeable) result).close();
+            } catch (IOException e) {
+                LogHelper.w(TAG, "Failed to close result of cancelled operation - " + e.getMessage());
+            }
+        }
+    }
+
+    private static ThreadFactory newThreadFactory(final String name) {
+        return new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Future of one operation - cancels the running query and posts the result to the listener
+     */
+    private class OperationTask<T> extends FutureTask<T> {
+
+        private final CancellationSignal signal;
+        private final OnQueryCompleted<T> listener;
+
+        OperationTask(Callable<T> task, CancellationSignal signal, OnQueryCompleted<T> listener) {
+            super(task);
+            this.signal = signal;
+            this.listener = listener;
+        }
+
+        @Override
+        public void run() {
+            running.add(this);
+            try {
+                super.run();
+            } finally {
+                running.remove(this);
+            }
+        }
+
+        @Override
+        protected void set(T result) {
+            super.set(result);
+            // Cancelled while running - nobody can get the result, so release it here
+            if (isCancelled()) closeResult(result);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && signal != null && Build.VERSION.SDK_INT >= 16) {
+                signal.cancel();
+            }
+            return cancelled;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) return;
+            final T result;
+            try {
+                result = get();
+            } catch (final Exception e) {
+                LogHelper.w(TAG, "Operation failed - " + e.getMessage());
+                if (listener != null) {
+                    mainHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            Throwable cause = e.getCause();
+                            listener.onQueryFailed(cause instanceof Exception ? (Exception) cause : e);
+                        }
+                    });
+                }
+                return;
+            }
+            if (listener != null) {
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onQueryCompleted(result);
+                    }
+                });
+            }
+        }
+    }
+}
@@ -3,15 +3,88 @@ package com.wings.helper;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.CursorWindow;
 import android.database.DatabaseErrorHandler;
+import android.database.DatabaseUtils;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteConstraintException;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteCursor;
+import android.database.sqlite.SQLiteCursorDriver;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteProgram;
+import android.database.sqlite.SQLiteQuery;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Build;
+import android.os.CancellationSignal;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.text.TextUtils;
+import android.util.Base64;
+import android.util.LruCache;
 
+import com.wings.utils.BloomFilter;
+import com.wings.utils.CachedResult;
+import com.wings.utils.CheckpointMode;
 import com.wings.utils.Column;
+import com.wings.utils.DatabaseConfiguration;
+import com.wings.utils.ExportFormat;
+import com.wings.utils.ImmutablePair;
+import com.wings.utils.MergeResult;
+import com.wings.utils.Migration;
+import com.wings.utils.OnQueryChanged;
+import com.wings.utils.OnTransferProgress;
+import com.wings.utils.PartitionInterval;
+import com.wings.utils.QueryMetrics;
+import com.wings.utils.RowBuffer;
+import com.wings.utils.RowMapper;
+import com.wings.utils.RowReader;
+import com.wings.utils.TransferStats;
+import com.wings.utils.TuningProfile;
 
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 
 
 /**
@@ -19,14 +92,26 @@ import java.util.Iterator;
  *
  * @author HetalD
  * Created On June 17,2019
- * Modified On June 20,2019
+ * Modified On October 18,2026
  */
 
 public class SQLiteDBHelper extends SQLiteOpenHelper {
 
+    private static final String TAG = "SQLiteDBHelper";
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+    private static final int DEFAULT_RESULT_MAX_ROWS = 1000;
+    private static final long CLOSE_TIMEOUT_MS = 2000;
+    private static final String FULL_TEXT_SUFFIX = "_fts";
+    private static final int MAX_BIND_ARGS = 999;
+    private static final String PARTITION_SUFFIX = "_p";
+    private static final int DEFAULT_TRANSFER_BATCH_SIZE = 500;
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+    private static final char HEX_DIGITS[] = "0123456789ABCDEF".toCharArray();
+    private static final byte SQLITE_HEADER[] = {'S', 'Q', 'L', 'i', 't', 'e', ' ', 'f', 'o', 'r', 'm', 'a', 't', ' ', '3', 0};
     private HashSet<String> tables = new HashSet<>();
     private String DATABASE_NAME, SQL = "";
     private ArrayList<Column> columns = new ArrayList<>();
+    private ArrayList<String> schemaSQL = new ArrayList<>();
     private SQLiteDatabase writableDatabase;
     private ContentValues contentValues = new ContentValues();
     private boolean initedDb = false;
@@ -34,6 +119,37 @@ public class SQLiteDBHelper extends SQLiteOpenHelper {
     private SQLiteDatabase.CursorFactory factory;
     private int version;
     private DatabaseErrorHandler errorHandler;
+    private DatabaseConfiguration configuration = new DatabaseConfiguration.Builder().build();
+    private SQLiteAsyncHelper asyncHelper;
+    private final Object resultLock = new Object();
+    private volatile LruCache<String, CachedResult> resultCache;
+    private final HashMap<String, Integer> tableGenerations = new HashMap<>();
+    private final HashSet<String> resultCachedTables = new HashSet<>();
+    private final HashSet<String> oversizedResults = new HashSet<>();
+    private int resultMaxRows = DEFAULT_RESULT_MAX_ROWS;
+    private long resultMaxBytes = Long.MAX_VALUE;
+    private final HashMap<String, String[]> fullTextColumns = new HashMap<>();
+    private final ArrayList<Migration> migrations = new ArrayList<>();
+    private final ArrayList<ImmutablePair<String, Long>> migrationTimings = new ArrayList<>();
+    private volatile QueryMetrics queryMetrics;
+    private long slowQueryThresholdMs;
+    private final Object statementLock = new Object();
+    private LruCache<String, String> queryCache = new LruCache<>(DEFAULT_STATEMENT_CACHE_SIZE);
+    private LruCache<String, SQLiteStatement> statementCache = newStatementCache(DEFAULT_STATEMENT_CACHE_SIZE);
+    private boolean queryPlanDiagnostics = false;
+    private final HashSet<String> explainedSQL = new HashSet<>();
+    private final ArrayList<String> queryPlanWarnings = new ArrayList<>();
+    private final Object bloomLock = new Object();
+    private final HashMap<String, ImmutablePair<Integer, Double>> bloomSpecs = new HashMap<>();
+    private final HashMap<String, BloomFilter> bloomFilters = new HashMap<>();
+    private final HashMap<String, BloomFilter> bloomFiltersBuilding = new HashMap<>();
+    private final CopyOnWriteArrayList<QueryObserver> observers = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService observerExecutor;
+    private final HashMap<String, PartitionSpec> partitionSpecs = new HashMap<>();
+    private final ThreadLocal<WriteTransaction> writeTransaction = new ThreadLocal<>();
+    private volatile TuningProfile tuningProfile = TuningProfile.DEFAULT;
+    private String connectionDefaults[];
+    private volatile MessageQueue.IdleHandler idleVacuumHandler;
 
     /**
      * Initialize database with context and database name
@@ -121,12 +237,120 @@ public class SQLiteDBHelper extends SQLiteOpenHelper {
     }
 
 
+    /**
+     * Initialize database with context, database name, database version and database configuration
+     * <p>
+     * Use:
+     * <p>
+     * SQLiteDBHelper liteClass = SQLiteDBHelper.init(this, "TESTDB", 1,
+     * new DatabaseConfiguration.Builder().setWriteAheadLogging(true).build());
+     *
+     * @param context       Context of the activity
+     * @param dbName        String name of the database
+     * @param version       Integer version of the database
+     * @param configuration DatabaseConfiguration - write-ahead logging and reader pool size
+     * @return SQLiteDBHelper
+     */
+    public static SQLiteDBHelper init(Context context, String dbName, int version, DatabaseConfiguration configuration) {
+        if (!dbName.endsWith(".db"))
+            dbName += ".db";
+        dbName = dbName.replaceAll(" ", "_");
+        SQLiteDBHelper helper = new SQLiteDBHelper(context, dbName, null, version);
+        // Write-ahead logging is enabled in onOpen, after the page size is applied
+        helper.configuration = configuration;
+        helper.tuningProfile = configuration.getTuningProfile();
+        return helper;
+    }
+
+
     /**
      * Initialize the database
      */
     private void initDatabase() {
         writableDatabase = getWritableDatabase();
         initedDb = true;
+        buildBloomFilters();
+    }
+
+    /**
+     * Get the opened database - opens it on the calling thread if needed
+     *
+     * @return SQLiteDatabase
+     */
+    SQLiteDatabase getDatabase() {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        return writableDatabase;
+    }
+
+    /**
+     * Get asynchronous facade of this helper - database work runs on a single writer thread
+     * and a bounded pool of reader threads instead of the calling thread
+     *
+     * @return SQLiteAsyncHelper
+     */
+    public synchronized SQLiteAsyncHelper async() {
+        if (asyncHelper == null) {
+            asyncHelper = new SQLiteAsyncHelper(this, configuration.getReaderPoolSize());
+        }
+        return asyncHelper;
+    }
+
+    /**
+     * Begin write transaction - with write-ahead logging the transaction does not block readers
+     * <p>
+     * Tables changed inside the transaction are notified by endWriteTransaction once the
+     * outermost transaction commits, so caches and observers never see uncommitted state.
+     */
+    private void beginWriteTransaction() {
+        if (configuration.isWriteAheadLogging()) {
+            writableDatabase.beginTransactionNonExclusive();
+        } else {
+            writableDatabase.beginTransaction();
+        }
+        WriteTransaction transaction = writeTransaction.get();
+        if (transaction == null) {
+            transaction = new WriteTransaction();
+            writeTransaction.set(transaction);
+        }
+        transaction.successful.clear(transaction.depth);
+        transaction.depth++;
+    }
+
+    /**
+     * Mark the current write transaction as successful
+     */
+    private void setWriteTransactionSuccessful() {
+        writableDatabase.setTransactionSuccessful();
+        WriteTransaction transaction = writeTransaction.get();
+        if (transaction != null && transaction.depth > 0) transaction.successful.set(transaction.depth - 1);
+    }
+
+    /**
+     * End the current write transaction - when the outermost transaction ends, the cached results
+     * of the tables changed inside it are removed again and, if it committed, their observers
+     * are notified
+     */
+    private void endWriteTransaction() {
+        WriteTransaction transaction = writeTransaction.get();
+        boolean ended = false;
+        try {
+            writableDatabase.endTransaction();
+            ended = true;
+        } finally {
+            if (transaction != null && transaction.depth > 0) {
+                transaction.depth--;
+                // A nested transaction which is not successful rolls back the outermost one
+                if (!ended || !transaction.successful.get(transaction.depth)) transaction.failed = true;
+                if (transaction.depth == 0) {
+                    writeTransaction.remove();
+                    for (String tableName : transaction.changedTables) {
+                        // Other threads may have cached the rows from before the commit or rollback
+                        invalidateResults(tableName);
+                        if (!transaction.failed) notifyObservers(tableName);
+                    }
+                }
+            }
+        }
     }
 
 
@@ -138,11 +362,140 @@ public class SQLiteDBHelper extends SQLiteOpenHelper {
     @Override
     public void onCreate(SQLiteDatabase db) {
         this.writableDatabase = db;
-        db.execSQL(SQL);
+        if (SQL.trim().length() > 0) execSQL(db, SQL);
+        for (String sql : schemaSQL) {
+            execSQL(db, sql);
+        }
+    }
+
+    /**
+     * Apply the storage settings and the tuning profile every time the database is opened - default method of SQLite
+     *
+     * @param db SQLite database
+     */
+    @Override
+    public void onOpen(SQLiteDatabase db) {
+        super.onOpen(db);
+        applyStorageSettings(db);
+        if (configuration.isWriteAheadLogging()) {
+            // After the storage settings - and before the profile, as it resets synchronous
+            db.enableWriteAheadLogging();
+        }
+        connectionDefaults = new String[]{
+                DatabaseUtils.stringForQuery(db, "PRAGMA cache_size", null),
+                DatabaseUtils.stringForQuery(db, "PRAGMA mmap_size", null),
+                DatabaseUtils.stringForQuery(db, "PRAGMA synchronous", null),
+                DatabaseUtils.stringForQuery(db, "PRAGMA temp_store", null)};
+        if (tuningProfile != TuningProfile.DEFAULT) applyTuningProfile(db, tuningProfile);
+    }
+
+    /**
+     * Switch the tuning profile of the open database, for example to BULK_IMPORT while loading
+     * data and back afterwards. Settings the profile leaves at the default are restored to the
+     * values the connection had when it was opened; the page size of the file is not changed.
+     * <p>
+     * Must not be called inside a transaction.
+     *
+     * @param profile TuningProfile
+     */
+    public synchronized void setTuningProfile(TuningProfile profile) {
+        tuningProfile = profile == null ? TuningProfile.DEFAULT : profile;
+        if (!initedDb || writableDatabase == null) {
+            // onOpen applies the profile
+            initDatabase();
+        } else {
+            applyTuningProfile(writableDatabase, tuningProfile);
+        }
+    }
+
+    /**
+     * Get the tuning profile in use
+     *
+     * @return TuningProfile
+     */
+    public TuningProfile getTuningProfile() {
+        return tuningProfile;
+    }
+
+    /**
+     * Apply the connection settings of the profile
+     * <p>
+     * They are set on the writer connection, which runs every statement without write-ahead
+     * logging. With write-ahead logging the framework runs reads on its pool of reader
+     * connections and offers no way to configure them, so reads keep the SQLite defaults for
+     * cache size, memory map size and temp store; synchronous only affects writes and applies fully.
+     *
+     * @param db      SQLite database
+     * @param profile TuningProfile
+     */
+    private void applyTuningProfile(SQLiteDatabase db, TuningProfile profile) {
+        // Negative cache size is in KiB instead of pages
+        execSQL(db, "PRAGMA cache_size = " + (profile.getCacheSizeKb() > 0 ? "-" + profile.getCacheSizeKb() : connectionDefaults[0]));
+        applyPragma(db, "mmap_size = " + (profile.getMmapSize() > 0 ? String.valueOf(profile.getMmapSize()) : connectionDefaults[1]));
+        execSQL(db, "PRAGMA synchronous = " + (profile.getSynchronous() != null ? profile.getSynchronous() : connectionDefaults[2]));
+        execSQL(db, "PRAGMA temp_store = " + (profile.getTempStore() != null ? profile.getTempStore() : connectionDefaults[3]));
+    }
+
+    /**
+     * Apply the settings stored in the database file - runs outside of the onCreate transaction
+     * <p>
+     * android_metadata exists before onCreate runs, so changing auto_vacuum or page_size needs a
+     * VACUUM to take effect. It runs once, when the database does not match the configuration
+     * yet - on an existing database it rewrites the whole file. The page size can not change in
+     * write-ahead logging mode, so this runs before write-ahead logging is enabled.
+     *
+     * @param db SQLite database
+     */
+    private void applyStorageSettings(SQLiteDatabase db) {
+        boolean vacuum = false;
+        if (configuration.isIncrementalVacuum() && DatabaseUtils.longForQuery(db, "PRAGMA auto_vacuum", null) != 2) {
+            execSQL(db, "PRAGMA auto_vacuum = INCREMENTAL");
+            vacuum = true;
+        }
+        int pageSize = configuration.getTuningProfile().getPageSize();
+        if (pageSize > 0 && DatabaseUtils.longForQuery(db, "PRAGMA page_size", null) != pageSize) {
+            if ("wal".equalsIgnoreCase(DatabaseUtils.stringForQuery(db, "PRAGMA journal_mode", null))) {
+                // For example the compatibility write-ahead logging of Android 9
+                LogHelper.w(TAG, "applyStorageSettings: page_size can not change in write-ahead logging mode");
+            } else {
+                execSQL(db, "PRAGMA page_size = " + pageSize);
+                vacuum = true;
+            }
+        }
+        if (vacuum) execSQL(db, "VACUUM");
+    }
+
+    /**
+     * Run PRAGMA through a query, as some pragmas return their new value as a row
+     *
+     * @param db     SQLite database
+     * @param pragma String pragma with its argument
+     */
+    private void applyPragma(SQLiteDatabase db, String pragma) {
+        // A query may run on any connection of the pool, inside a transaction it runs on the writer
+        db.beginTransaction();
+        try {
+            Cursor cursor = db.rawQuery("PRAGMA " + pragma, null);
+            try {
+                cursor.moveToFirst();
+            } finally {
+                cursor.close();
+            }
+            db.setTransactionSuccessful();
+        } catch (SQLException e) {
+            LogHelper.w(TAG, "applyPragma: " + pragma + " - " + e.getMessage());
+        } finally {
+            db.endTransaction();
+        }
     }
 
     /**
      * Upgrade database if version of database is changed - default method of SQLite
+     * <p>
+     * Runs the migrations added with addMigration from oldVersion to newVersion. Without a
+     * complete chain of migrations every table is dropped and created again.
+     * The whole upgrade runs in one transaction, so a failing migration leaves the
+     * database untouched at oldVersion.
      *
      * @param db         SQLite database
      * @param oldVersion Integer old version of the database
@@ -150,16 +503,85 @@ public class SQLiteDBHelper extends SQLiteOpenHelper {
      */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        clearStatementCache();
+        clearResultCache();
+        synchronized (bloomLock) {
+            bloomFilters.clear();
+        }
+
+        ArrayList<Migration> path = findMigrationPath(oldVersion, newVersion);
+        if (path != null) {
+            migrationTimings.clear();
+            for (Migration migration : path) {
+                long start = System.nanoTime();
+                migration.migrate(db);
+                long millis = (System.nanoTime() - start) / 1000000;
+                migrationTimings.add(new ImmutablePair<>(migration.toString(), millis));
+                LogHelper.i(TAG, migration + " done in " + millis + " ms");
+            }
+            return;
+        }
+        LogHelper.w(TAG, "No migration from version " + oldVersion + " to " + newVersion + " - recreating tables");
 
         if (tables != null && tables.size() > 0) {
             Iterator<String> i = tables.iterator();
             while (i.hasNext()) {
-                db.execSQL(" DROP TABLE IF EXISTS " + i.next());
+                String tableName = i.next();
+                execSQL(db, " DROP TABLE IF EXISTS " + tableName);
+                execSQL(db, " DROP TABLE IF EXISTS " + tableName + FULL_TEXT_SUFFIX);
             }
         }
         onCreate(db);
     }
 
+    /**
+     * Add migration used by onUpgrade instead of dropping every table
+     * <p>
+     * Add the migrations before the first database access
+     *
+     * @param migration Migration from one version to another
+     * @return SQLiteDBHelper
+     */
+    public SQLiteDBHelper addMigration(Migration migration) {
+        migrations.add(migration);
+        return this;
+    }
+
+    /**
+     * Get time taken by each migration of the last upgrade
+     *
+     * @return ArrayList of migration name and time in milliseconds
+     */
+    public ArrayList<ImmutablePair<String, Long>> getMigrationTimings() {
+        return new ArrayList<>(migrationTimings);
+    }
+
+    /**
+     * Find chain of migrations from oldVersion to newVersion, taking the biggest step at each version
+     *
+     * @param oldVersion Integer old version of the database
+     * @param newVersion Integer new version of the database
+     * @return ArrayList of migrations in order, null if there is no complete chain
+     */
+    private ArrayList<Migration> findMigrationPath(int oldVersion, int newVersion) {
+        if (migrations.isEmpty()) return null;
+        ArrayList<Migration> path = new ArrayList<>();
+        int current = oldVersion;
+        while (current < newVersion) {
+            Migration next = null;
+            for (Migration migration : migrations) {
+                if (migration.startVersion == current && migration.endVersion > current && migration.endVersion <= newVersion
+                        && (next == null || migration.endVersion > next.endVersion)) {
+                    next = migration;
+                }
+            }
+            if (next == null) return null;
+            path.add(next);
+            current = next.endVersion;
+        }
+        return path;
+    }
+
     /**
      * Set the name of the table
      *
@@ -190,426 +612,3757 @@ public class SQLiteDBHelper extends SQLiteOpenHelper {
      * @return SQLiteDBHelper
      */
     public SQLiteDBHelper doneTableColumn(String tableName) {
-        SQL = " CREATE TABLE " + tableName + " ( ID INTEGER PRIMARY KEY AUTOINCREMENT, ";
-        for (int i = 0; i < columns.size(); i++) {
-            SQL += " " + columns.get(i).columnName + " " + columns.get(i).columnDataType + " ";
-            if (i == columns.size() - 1) {
-                SQL += " ) ";
-            } else {
-                SQL += " , ";
+        SQL = buildCreateTableSQL(columns, tableName);
+        schemaSQL.clear();
+        schemaSQL.addAll(buildIndexSQL(columns, "", tableName));
+
+        // Shadow full-text table of the full-text columns, kept in sync by triggers
+        ArrayList<String> ftsColumns = new ArrayList<>();
+        for (Column column : columns) {
+            if (column.fullTextSearch) ftsColumns.add(column.columnName);
+        }
+        if (ftsColumns.size() > 0) {
+            fullTextColumns.put(tableName, ftsColumns.toArray(new String[ftsColumns.size()]));
+            String ftsTable = tableName + FULL_TEXT_SUFFIX;
+            String names = "", newValues = "";
+            for (int i = 0; i < ftsColumns.size(); i++) {
+                names += (i == 0 ? "" : ", ") + ftsColumns.get(i);
+                newValues += (i == 0 ? "" : ", ") + "new." + ftsColumns.get(i);
             }
+            String delete = " BEGIN DELETE FROM " + ftsTable + " WHERE docid = old.rowid; END";
+            String insert = " BEGIN INSERT INTO " + ftsTable + " (docid, " + names + ") VALUES (new.rowid, " + newValues + "); END";
+            schemaSQL.add("CREATE VIRTUAL TABLE IF NOT EXISTS " + ftsTable + " USING fts4(content=\"" + tableName + "\", " + names + ")");
+            schemaSQL.add("CREATE TRIGGER IF NOT EXISTS " + ftsTable + "_bu BEFORE UPDATE ON " + tableName + delete);
+            schemaSQL.add("CREATE TRIGGER IF NOT EXISTS " + ftsTable + "_bd BEFORE DELETE ON " + tableName + delete);
+            schemaSQL.add("CREATE TRIGGER IF NOT EXISTS " + ftsTable + "_au AFTER UPDATE ON " + tableName + insert);
+            schemaSQL.add("CREATE TRIGGER IF NOT EXISTS " + ftsTable + "_ai AFTER INSERT ON " + tableName + insert);
         }
 
         if (!initedDb || writableDatabase == null) initDatabase();
+
+        // The database may exist already, in that case onCreate was not called
+        boolean fullTextExisted = ftsColumns.size() == 0 || DatabaseUtils.longForQuery(writableDatabase,
+                "SELECT COUNT(*) FROM sqlite_master WHERE name = ?", new String[]{tableName + FULL_TEXT_SUFFIX}) > 0;
+        for (String sql : schemaSQL) {
+            try {
+                execSQL(writableDatabase, sql);
+            } catch (SQLException e) {
+                LogHelper.w(TAG, "doneTableColumn: " + sql + " - " + e.getMessage());
+            }
+        }
+        if (!fullTextExisted) rebuildFullTextIndex(tableName);
         return this;
     }
 
     /**
-     * Add data into table
+     * Build create table statement of the columns with the ID primary key
      *
-     * @param columnNumber Integer column number in which data will added
-     * @param data         String data to add into given column
-     * @return SQLiteDBHelper
+     * @param columns   ArrayList of columns
+     * @param tableName name of table
+     * @return String create table SQL
      */
-    public SQLiteDBHelper addData(int columnNumber, String data) {
-        if (!initedDb || writableDatabase == null) initDatabase();
-        contentValues.put(columns.get(columnNumber - 1).columnName, data);
-        return this;
+    private static String buildCreateTableSQL(ArrayList<Column> columns, String tableName) {
+        String sql = " CREATE TABLE " + tableName + " ( ID INTEGER PRIMARY KEY AUTOINCREMENT, ";
+        for (int i = 0; i < columns.size(); i++) {
+            sql += " " + columns.get(i).columnName + " " + columns.get(i).columnDataType + " ";
+            if (i == columns.size() - 1) {
+                sql += " ) ";
+            } else {
+                sql += " , ";
+            }
+        }
+        return sql;
     }
 
     /**
-     * Add data into table
+     * Build create index statements of the indexes declared on the columns - columns sharing
+     * an index name make a composite index
      *
-     * @param columnName String column name in which data will added
-     * @param data       String data to add into given column
-     * @return SQLiteDBHelper
+     * @param columns   ArrayList of columns
+     * @param suffix    String appended to index names given on the columns
+     * @param tableName name of table
+     * @return ArrayList of create index SQL
      */
-    public SQLiteDBHelper addData(String columnName, String data) {
-        columnName = columnName.replaceAll(" ", "_");
-        if (!initedDb || writableDatabase == null) initDatabase();
-        contentValues.put(columnName, data);
-        return this;
+    private static ArrayList<String> buildIndexSQL(ArrayList<Column> columns, String suffix, String tableName) {
+        LinkedHashMap<String, ArrayList<Column>> indexes = new LinkedHashMap<>();
+        for (Column column : columns) {
+            if (column.indexName == null) continue;
+            String indexName = column.indexName.length() == 0 ? "idx_" + tableName + "_" + column.columnName : column.indexName + suffix;
+            if (!indexes.containsKey(indexName)) indexes.put(indexName, new ArrayList<Column>());
+            indexes.get(indexName).add(column);
+        }
+        ArrayList<String> statements = new ArrayList<>();
+        for (String indexName : indexes.keySet()) {
+            ArrayList<Column> indexColumns = indexes.get(indexName);
+            boolean unique = false;
+            String where = null;
+            String indexSQL = "";
+            for (int i = 0; i < indexColumns.size(); i++) {
+                unique |= indexColumns.get(i).uniqueIndex;
+                if (indexColumns.get(i).indexWhere != null) where = indexColumns.get(i).indexWhere;
+                indexSQL += (i == 0 ? "" : ", ") + indexColumns.get(i).columnName;
+            }
+            statements.add("CREATE " + (unique ? "UNIQUE " : "") + "INDEX IF NOT EXISTS " + indexName
+                    + " ON " + tableName + " (" + indexSQL + ")" + (where == null ? "" : " WHERE " + where));
+        }
+        return statements;
     }
 
     /**
-     * Add data into table
+     * Create table split into one partition table per day or week, behind a view with the table name
+     * <p>
+     * Uses the columns added with addColumn; the time column must hold the time in milliseconds
+     * since epoch. Every partition has its own indexes, including one on the time column, and
+     * IDs start at a different offset in every partition, so IDs stay unique and grow with time.
+     * Read the whole table through the view with the usual query methods, read a time range with
+     * queryRange and insert with insertPartitioned - the view itself is read only. When a new
+     * partition is created, partitions older than retainPartitions intervals are dropped.
+     * Full-text search columns are not supported on partitioned tables.
+     * <p>
+     * Use:
+     * <p>
+     * liteClass.addColumn(new Column("Time", "integer"))
+     * .addColumn(new Column("Message", "text"))
+     * .createPartitionedTable("Time", PartitionInterval.DAY, 30, "EVENTS");
      *
-     * @param columnNumber Integer column number in which data will added
-     * @param data         Integer data to add into given column
+     * @param timeColumn       String name of the time column
+     * @param interval         PartitionInterval - DAY or WEEK
+     * @param retainPartitions Integer number of newest partitions to keep, 0 or less to keep all
+     * @param tableName        name of the view over the partitions
      * @return SQLiteDBHelper
      */
-    public SQLiteDBHelper addData(int columnNumber, int data) {
+    public SQLiteDBHelper createPartitionedTable(String timeColumn, PartitionInterval interval, int retainPartitions, String tableName) {
+        tableName = tableName.replaceAll(" ", "_");
+        tables.remove(tableName);
+        String time = timeColumn.trim().replaceAll(" ", "_");
+        boolean found = false;
+        for (Column column : columns) {
+            found |= column.columnName.equalsIgnoreCase(time);
+        }
+        if (!found) {
+            throw new IllegalArgumentException("Time column " + timeColumn + " is not one of the columns");
+        }
+        PartitionSpec spec = new PartitionSpec(time, interval, retainPartitions, new ArrayList<>(columns));
+        synchronized (partitionSpecs) {
+            partitionSpecs.put(tableName.toUpperCase(Locale.US), spec);
+        }
         if (!initedDb || writableDatabase == null) initDatabase();
-        contentValues.put(columns.get(columnNumber - 1).columnName, data);
+        getPartition(System.currentTimeMillis(), tableName);
         return this;
     }
 
     /**
-     * Add data into table
+     * Get the partition table which holds rows of the given time, creating it if needed
+     * <p>
+     * Use it to write rows with the other insert methods, for example
+     * liteClass.insertRow(row, liteClass.getPartition(time, "EVENTS"));
      *
-     * @param columnName String column name in which data will added
-     * @param data       Integer data to add into given column
-     * @return SQLiteDBHelper
+     * @param timeMillis Long time in milliseconds since epoch
+     * @param tableName  name of partitioned table
+     * @return String name of the partition table
      */
-    public SQLiteDBHelper addData(String columnName, int data) {
-        columnName = columnName.replaceAll(" ", "_");
+    public String getPartition(long timeMillis, String tableName) {
+        PartitionSpec spec = getPartitionSpec(tableName);
         if (!initedDb || writableDatabase == null) initDatabase();
-        contentValues.put(columnName, data);
-        return this;
+        long bucket = spec.interval.getBucketStart(timeMillis);
+        boolean newest = false;
+        synchronized (spec) {
+            loadPartitions(spec, tableName);
+            if (!spec.partitions.contains(bucket)) {
+                createPartition(spec, bucket, tableName);
+                newest = bucket == spec.partitions.last();
+            }
+        }
+        if (newest) {
+            notifyTableChanged(tableName);
+            dropExpiredPartitions(tableName);
+        }
+        return getPartitionName(bucket, tableName);
     }
 
-
     /**
-     * Complete Add operation by giving true(if done) or false(if not done)
+     * Insert data into the partition of the row time
+     * <p>
+     * The time is read from the time column of the content values - rows without it get the current time.
      *
-     * @param tableName name of table
-     * @return boolean
+     * @param tableName     name of partitioned table
+     * @param contentValues content values
+     * @return row ID of the new row, -1 on error
      */
-    public boolean doneDataAdding(String tableName) {
-        long result = writableDatabase.insert(tableName, null, contentValues);
-        contentValues = new ContentValues();
-
-        if (result == -1)
-            return false;
-        else
-            return true;
+    public long insertPartitioned(String tableName, ContentValues contentValues) {
+        PartitionSpec spec = getPartitionSpec(tableName);
+        Long time = contentValues.getAsLong(spec.timeColumn);
+        if (time == null) {
+            time = System.currentTimeMillis();
+            contentValues.put(spec.timeColumn, time);
+        }
+        long result = insertData(getPartition(time, tableName), contentValues);
+        notifyTableChanged(tableName);
+        return result;
     }
 
     /**
-     * Update String data of the table by given column number
+     * Get rows of the partitioned table with time in [fromMillis, toMillis), ordered by time
+     * <p>
+     * Only the partitions overlapping the range are read, so reading recent rows costs the
+     * same however much history the table keeps.
      *
-     * @param columnNumber Integer column number in which you want to update data
-     * @param data         String data which you want to update
-     * @return SQLiteDBHelper
+     * @param fromMillis Long start of the range (inclusive) in milliseconds since epoch
+     * @param toMillis   Long end of the range (exclusive) in milliseconds since epoch
+     * @param tableName  name of partitioned table
+     * @return cursor
      */
-    public SQLiteDBHelper updateData(int columnNumber, String data) {
+    public Cursor queryRange(long fromMillis, long toMillis, String tableName) {
+        PartitionSpec spec = getPartitionSpec(tableName);
         if (!initedDb || writableDatabase == null) initDatabase();
-        contentValues.put(columns.get(columnNumber - 1).columnName, data);
-        return this;
+        ArrayList<Long> buckets = new ArrayList<>();
+        synchronized (spec) {
+            loadPartitions(spec, tableName);
+            for (long bucket : spec.partitions) {
+                if (bucket < toMillis && bucket + spec.interval.getMillis() > fromMillis) buckets.add(bucket);
+            }
+        }
+        if (buckets.isEmpty()) return rawQuery("SELECT * FROM " + tableName + " LIMIT 0", null);
+
+        String from = String.valueOf(fromMillis), to = String.valueOf(toMillis);
+        StringBuilder sql = new StringBuilder();
+        String args[] = new String[buckets.size() * 2];
+        for (int i = 0; i < buckets.size(); i++) {
+            sql.append(i == 0 ? "" : " UNION ALL ").append("SELECT * FROM ").append(getPartitionName(buckets.get(i), tableName))
+                    .append(" WHERE ").append(spec.timeColumn).append(" >= ? AND ").append(spec.timeColumn).append(" < ?");
+            args[i * 2] = from;
+            args[i * 2 + 1] = to;
+        }
+        sql.append(" ORDER BY ").append(spec.timeColumn);
+        return rawQuery(sql.toString(), args);
     }
 
     /**
-     * Update data to table
+     * Drop partitions older than the retention of the partitioned table
+     * <p>
+     * Dropping a partition removes all of its rows at once instead of deleting them one by one.
+     * With DatabaseConfiguration.setIncrementalVacuum the freed pages are returned to the file system.
      *
-     * @param tableName     table name
-     * @param contentValues content values
-     * @param query         query
-     * @return the number of rows affected
+     * @param tableName name of partitioned table
+     * @return Integer number of partitions dropped
      */
-    public int updateData(String tableName, ContentValues contentValues, String query) {
+    public int dropExpiredPartitions(String tableName) {
+        PartitionSpec spec = getPartitionSpec(tableName);
+        if (spec.retainPartitions <= 0) return 0;
         if (!initedDb || writableDatabase == null) initDatabase();
-        return writableDatabase.update(tableName, contentValues, query, null);
+        long cutoff = spec.interval.getBucketStart(System.currentTimeMillis())
+                - (spec.retainPartitions - 1) * spec.interval.getMillis();
+        ArrayList<Long> expired = new ArrayList<>();
+        synchronized (spec) {
+            loadPartitions(spec, tableName);
+            for (long bucket : spec.partitions) {
+                if (bucket < cutoff) expired.add(bucket);
+            }
+            // The view always needs one partition
+            if (expired.isEmpty() || expired.size() == spec.partitions.size()) return 0;
+
+            beginWriteTransaction();
+            try {
+                for (long bucket : expired) {
+                    execSQL(writableDatabase, "DROP TABLE IF EXISTS " + getPartitionName(bucket, tableName));
+                }
+                spec.partitions.removeAll(expired);
+                createPartitionView(spec, tableName);
+                setWriteTransactionSuccessful();
+            } catch (SQLException e) {
+                spec.loaded = false;
+                throw e;
+            } finally {
+                endWriteTransaction();
+            }
+        }
+        notifyTableChanged(tableName);
+        if (configuration.isIncrementalVacuum()) incrementalVacuum(0);
+        return expired.size();
     }
 
     /**
-     * Update - Get the row by ID to update the data
+     * Return free pages to the file system - only has an effect on databases opened with
+     * DatabaseConfiguration.setIncrementalVacuum
      *
-     * @param id        Integer ID of the row
-     * @param tableName name of table
-     * @return boolean - returns true if row is updated, false if row is not updated
+     * @param pages Integer maximum number of pages to free, 0 or less for every free page
+     * @return Long number of pages freed
      */
-    public boolean rowID(int id, String tableName) {
+    public long incrementalVacuum(int pages) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        long before = DatabaseUtils.longForQuery(writableDatabase, "PRAGMA freelist_count", null);
+        // Every step of the pragma frees one page, reading the whole result runs it to the end
+        Cursor cursor = rawQuery("PRAGMA incremental_vacuum" + (pages > 0 ? "(" + pages + ")" : ""), null);
         try {
-            return writableDatabase.update(tableName, contentValues, "id = ?", new String[]{String.valueOf(id)}) > 0;
-        } catch (Exception e) {
-            return false;
+            cursor.getCount();
+        } finally {
+            cursor.close();
         }
+        return before - DatabaseUtils.longForQuery(writableDatabase, "PRAGMA freelist_count", null);
     }
 
     /**
-     * Get all the column from table
+     * Run incrementalVacuum whenever the main thread is idle - only has an effect on databases
+     * opened with DatabaseConfiguration.setIncrementalVacuum
+     * <p>
+     * The vacuum runs on the writer thread of async(), at most once per interval and only when
+     * the database has at least minFreePages free pages. Replaces the previous schedule.
      *
-     * @return String[] array of columns
+     * @param minFreePages Integer free pages needed before a vacuum runs
+     * @param pagesPerStep Integer maximum number of pages freed per vacuum, 0 or less for every free page
+     * @param intervalMs   Long minimum time between two vacuums in milliseconds
      */
-    public String[] getAllColumns() {
-        String allColNames[] = new String[columns.size() + 1];
-        allColNames[0] = "ID";
-        for (int i = 0; i < columns.size(); i++) {
-            allColNames[i + 1] = columns.get(i).columnName;
-        }
-        return allColNames;
+    public synchronized void scheduleIdleVacuum(final long minFreePages, final int pagesPerStep, final long intervalMs) {
+        cancelIdleVacuum();
+        final MessageQueue.IdleHandler idleHandler = new MessageQueue.IdleHandler() {
+            private long lastRun;
+            private Future<Long> pending;
+
+            @Override
+            public boolean queueIdle() {
+                // Cancelled or replaced before the removal reached the main thread
+                if (idleVacuumHandler != this) return false;
+                long now = System.currentTimeMillis();
+                if ((pending != null && !pending.isDone()) || now - lastRun < intervalMs) return true;
+                lastRun = now;
+                pending = async().write(new Callable<Long>() {
+                    @Override
+                    public Long call() {
+                        if (!initedDb || writableDatabase == null) initDatabase();
+                        if (DatabaseUtils.longForQuery(writableDatabase, "PRAGMA freelist_count", null) < Math.max(minFreePages, 1)) {
+                            return 0L;
+                        }
+                        return incrementalVacuum(pagesPerStep);
+                    }
+                }, null);
+                return true;
+            }
+        };
+        idleVacuumHandler = idleHandler;
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                Looper.myQueue().addIdleHandler(idleHandler);
+            }
+        });
     }
 
+    /**
+     * Stop the vacuum scheduled with scheduleIdleVacuum - a running vacuum is finished
+     */
+    public synchronized void cancelIdleVacuum() {
+        if (idleVacuumHandler == null) return;
+        final MessageQueue.IdleHandler idleHandler = idleVacuumHandler;
+        idleVacuumHandler = null;
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                Looper.myQueue().removeIdleHandler(idleHandler);
+            }
+        });
+    }
 
     /**
-     * Get all data from table
+     * Get health of the database file: size, pages, free pages, row count of every table and
+     * statement cache hits
+     * <p>
+     * Counting rows reads every table, so call it from a background thread on big databases.
      *
-     * @param tableName name of table
-     * @return Cursor
+     * @return JSONObject stats
      */
-    public Cursor getAllData(String tableName) {
+    public JSONObject stats() {
         if (!initedDb || writableDatabase == null) initDatabase();
-        return writableDatabase.rawQuery("select * from " + tableName, null);
+        JSONObject stats = new JSONObject();
+        try {
+            File database = new File(writableDatabase.getPath());
+            stats.put("fileSize", database.length());
+            stats.put("walSize", new File(database.getPath() + "-wal").length());
+            long pageSize = DatabaseUtils.longForQuery(writableDatabase, "PRAGMA page_size", null);
+            long freePages = DatabaseUtils.longForQuery(writableDatabase, "PRAGMA freelist_count", null);
+            stats.put("pageSize", pageSize);
+            stats.put("pageCount", DatabaseUtils.longForQuery(writableDatabase, "PRAGMA page_count", null));
+            stats.put("freePages", freePages);
+            stats.put("freeBytes", freePages * pageSize);
+            stats.put("autoVacuum", DatabaseUtils.longForQuery(writableDatabase, "PRAGMA auto_vacuum", null));
+            stats.put("journalMode", DatabaseUtils.stringForQuery(writableDatabase, "PRAGMA journal_mode", null));
+            stats.put("tuningProfile", tuningProfile.name());
+
+            JSONObject rows = new JSONObject();
+            Cursor cursor = rawQuery("SELECT name FROM sqlite_master WHERE type = 'table' AND name NOT LIKE 'sqlite!_%' ESCAPE '!'"
+                    + " AND name <> 'android_metadata' ORDER BY name", null);
+            try {
+                while (cursor.moveToNext()) {
+                    String name = cursor.getString(0);
+                    rows.put(name, DatabaseUtils.longForQuery(writableDatabase, "SELECT COUNT(*) FROM \"" + name.replace("\"", "\"\"") + "\"", null));
+                }
+            } finally {
+                cursor.close();
+            }
+            stats.put("tables", rows);
+
+            JSONObject cache = new JSONObject();
+            int hits = getStatementCacheHitCount(), misses = getStatementCacheMissCount();
+            cache.put("hits", hits);
+            cache.put("misses", misses);
+            cache.put("hitRatio", hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+            synchronized (statementLock) {
+                cache.put("size", statementCache.size());
+                cache.put("maxSize", statementCache.maxSize());
+            }
+            stats.put("statementCache", cache);
+        } catch (JSONException e) {
+            e.printStackTrace();
+        }
+        return stats;
     }
 
     /**
-     * Get all data from table by order either in ascending or descending
+     * Get partition settings of the table
      *
-     * @param columnNumber Integer column number to which you want to order
-     * @param ascending    boolean - true for ascending - false for descending
+     * @param tableName name of partitioned table
+     * @return PartitionSpec
+     */
+    private PartitionSpec getPartitionSpec(String tableName) {
+        PartitionSpec spec;
+        synchronized (partitionSpecs) {
+            spec = partitionSpecs.get(tableName.replaceAll(" ", "_").toUpperCase(Locale.US));
+        }
+        if (spec == null) {
+            throw new IllegalArgumentException(tableName + " is not a partitioned table");
+        }
+        return spec;
+    }
+
+    /**
+     * Read the existing partitions of the table from the schema - caller must hold the spec lock
+     *
+     * @param spec      PartitionSpec
+     * @param tableName name of partitioned table
+     */
+    private void loadPartitions(PartitionSpec spec, String tableName) {
+        if (spec.loaded) return;
+        spec.partitions.clear();
+        String prefix = tableName + PARTITION_SUFFIX;
+        Cursor cursor = rawQuery("SELECT name FROM sqlite_master WHERE type = 'table' AND substr(name, 1, ?) = ?",
+                new String[]{String.valueOf(prefix.length()), prefix});
+        try {
+            while (cursor.moveToNext()) {
+                try {
+                    spec.partitions.add(newPartitionDateFormat().parse(cursor.getString(0).substring(prefix.length())).getTime());
+                } catch (ParseException e) {
+                    LogHelper.w(TAG, "loadPartitions: skipped " + cursor.getString(0));
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+        spec.loaded = true;
+    }
+
+    /**
+     * Create partition table with its indexes and add it to the view - caller must hold the spec lock
+     *
+     * @param spec      PartitionSpec
+     * @param bucket    Long bucket start of the partition
+     * @param tableName name of partitioned table
+     */
+    private void createPartition(PartitionSpec spec, long bucket, String tableName) {
+        String partition = getPartitionName(bucket, tableName);
+        beginWriteTransaction();
+        try {
+            execSQL(writableDatabase, buildCreateTableSQL(spec.columns, partition).replaceFirst("CREATE TABLE", "CREATE TABLE IF NOT EXISTS"));
+            for (String sql : buildIndexSQL(spec.columns, "_" + partition, partition)) {
+                execSQL(writableDatabase, sql);
+            }
+            execSQL(writableDatabase, "CREATE INDEX IF NOT EXISTS idx_" + partition + "_" + spec.timeColumn
+                    + " ON " + partition + " (" + spec.timeColumn + ")");
+
+            // IDs of the partition start after day number * 2^32, unique across partitions
+            long firstId = Math.max(bucket / PartitionInterval.DAY.getMillis(), 0) << 32;
+            writableDatabase.execSQL("INSERT INTO sqlite_sequence (name, seq) SELECT ?, ? WHERE NOT EXISTS "
+                    + "(SELECT 1 FROM sqlite_sequence WHERE name = ?)", new Object[]{partition, firstId, partition});
+
+            spec.partitions.add(bucket);
+            createPartitionView(spec, tableName);
+            setWriteTransactionSuccessful();
+        } catch (SQLException e) {
+            spec.loaded = false;
+            throw e;
+        } finally {
+            endWriteTransaction();
+        }
+    }
+
+    /**
+     * Create the view over every partition of the table - caller must hold the spec lock
+     *
+     * @param spec      PartitionSpec
+     * @param tableName name of partitioned table
+     */
+    private void createPartitionView(PartitionSpec spec, String tableName) {
+        StringBuilder sql = new StringBuilder("CREATE VIEW ").append(tableName).append(" AS ");
+        boolean first = true;
+        for (long bucket : spec.partitions) {
+            sql.append(first ? "" : " UNION ALL ").append("SELECT * FROM ").append(getPartitionName(bucket, tableName));
+            first = false;
+        }
+        execSQL(writableDatabase, "DROP VIEW IF EXISTS " + tableName);
+        execSQL(writableDatabase, sql.toString());
+    }
+
+    /**
+     * Get name of the partition table of the bucket
+     *
+     * @param bucket    Long bucket start
+     * @param tableName name of partitioned table
+     * @return String partition table name, for example EVENTS_p20261018
+     */
+    private static String getPartitionName(long bucket, String tableName) {
+        return tableName + PARTITION_SUFFIX + newPartitionDateFormat().format(new Date(bucket));
+    }
+
+    /**
+     * Create date format of partition names - UTC, as buckets start at midnight UTC
+     *
+     * @return SimpleDateFormat
+     */
+    private static SimpleDateFormat newPartitionDateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+
+    /**
+     * Settings and known partitions of a partitioned table
+     */
+    private static class PartitionSpec {
+        final String timeColumn;
+        final PartitionInterval interval;
+        final int retainPartitions;
+        final ArrayList<Column> columns;
+        final TreeSet<Long> partitions = new TreeSet<>();
+        boolean loaded;
+
+        PartitionSpec(String timeColumn, PartitionInterval interval, int retainPartitions, ArrayList<Column> columns) {
+            this.timeColumn = timeColumn;
+            this.interval = interval;
+            this.retainPartitions = retainPartitions;
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * Write transactions of one thread - nesting depth, success of every level and tables to notify on commit
+     */
+    private static class WriteTransaction {
+        final BitSet successful = new BitSet();
+        final LinkedHashSet<String> changedTables = new LinkedHashSet<>();
+        int depth;
+        boolean failed;
+    }
+
+    /**
+     * Add data into table
+     *
+     * @param columnNumber Integer column number in which data will added
+     * @param data         String data to add into given column
+     * @return SQLiteDBHelper
+     */
+    public SQLiteDBHelper addData(int columnNumber, String data) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        contentValues.put(columns.get(columnNumber - 1).columnName, data);
+        return this;
+    }
+
+    /**
+     * Add data into table
+     *
+     * @param columnName String column name in which data will added
+     * @param data       String data to add into given column
+     * @return SQLiteDBHelper
+     */
+    public SQLiteDBHelper addData(String columnName, String data) {
+        columnName = columnName.replaceAll(" ", "_");
+        if (!initedDb || writableDatabase == null) initDatabase();
+        contentValues.put(columnName, data);
+        return this;
+    }
+
+    /**
+     * Add data into table
+     *
+     * @param columnNumber Integer column number in which data will added
+     * @param data         Integer data to add into given column
+     * @return SQLiteDBHelper
+     */
+    public SQLiteDBHelper addData(int columnNumber, int data) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        contentValues.put(columns.get(columnNumber - 1).columnName, data);
+        return this;
+    }
+
+    /**
+     * Add data into table
+     *
+     * @param columnName String column name in which data will added
+     * @param data       Integer data to add into given column
+     * @return SQLiteDBHelper
+     */
+    public SQLiteDBHelper addData(String columnName, int data) {
+        columnName = columnName.replaceAll(" ", "_");
+        if (!initedDb || writableDatabase == null) initDatabase();
+        contentValues.put(columnName, data);
+        return this;
+    }
+
+
+    /**
+     * Complete Add operation by giving true(if done) or false(if not done)
+     *
+     * @param tableName name of table
+     * @return boolean
+     */
+    public boolean doneDataAdding(String tableName) {
+        long start = startTimer();
+        long result = writableDatabase.insert(tableName, null, contentValues);
+        recordStatement("INSERT INTO " + tableName, null, start, result == -1 ? 0 : 1, 0);
+        addToBloomFilters(contentValues, tableName);
+        contentValues = new ContentValues();
+        notifyTableChanged(tableName);
+
+        if (result == -1)
+            return false;
+        else
+            return true;
+    }
+
+    /**
+     * Bulk insert rows into table inside a single transaction
+     * <p>
+     * Each row holds its values in the same order as the columns added with addColumn
+     *
+     * @param rows      List of rows - one Object array per row
+     * @param tableName name of table
+     * @return int[] - number of rows inserted in each committed batch
+     */
+    public int[] bulkInsert(List<Object[]> rows, String tableName) {
+        return bulkInsert(rows, 0, tableName);
+    }
+
+    /**
+     * Bulk insert rows into table, committing after every commitInterval rows
+     * <p>
+     * Each row holds its values in the same order as the columns added with addColumn
+     *
+     * @param rows           List of rows - one Object array per row
+     * @param commitInterval Integer number of rows per transaction, 0 or less to commit once at the end
+     * @param tableName      name of table
+     * @return int[] - number of rows inserted in each committed batch
+     */
+    public int[] bulkInsert(List<Object[]> rows, int commitInterval, String tableName) {
+        String columnNames[] = new String[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            columnNames[i] = columns.get(i).columnName;
+        }
+        return bulkInsert(columnNames, rows, commitInterval, tableName);
+    }
+
+    /**
+     * Bulk insert rows into table, committing after every commitInterval rows
+     * <p>
+     * One compiled insert statement is reused for every row, so large imports only pay for
+     * the SQL compilation once. Rows rejected by a constraint are skipped and not counted.
+     *
+     * @param columnNames    String array of column names - order of values in each row
+     * @param rows           List of rows - one Object array per row (String, Number, Boolean, byte[] or null)
+     * @param commitInterval Integer number of rows per transaction, 0 or less to commit once at the end
+     * @param tableName      name of table
+     * @return int[] - number of rows inserted in each committed batch
+     */
+    public int[] bulkInsert(String columnNames[], List<Object[]> rows, int commitInterval, String tableName) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        int batchSize = commitInterval > 0 ? commitInterval : Math.max(rows.size(), 1);
+        int batchCounts[] = new int[(rows.size() + batchSize - 1) / batchSize];
+        int batch = 0;
+
+        long start = startTimer();
+        BloomFilter filters[][] = getBloomFilters(columnNames, tableName);
+        String sql = buildInsertSQL(columnNames, tableName);
+        SQLiteStatement statement = writableDatabase.compileStatement(sql);
+        try {
+            beginWriteTransaction();
+            try {
+                for (int i = 0; i < rows.size(); i++) {
+                    bindRow(statement, rows.get(i));
+                    if (filters != null) addToBloomFilters(filters, rows.get(i));
+                    try {
+                        if (statement.executeInsert() != -1) batchCounts[batch]++;
+                    } catch (SQLException e) {
+                        LogHelper.w(TAG, "bulkInsert: skipped row " + i + " - " + e.getMessage());
+                    }
+
+                    if ((i + 1) % batchSize == 0 && i + 1 < rows.size()) {
+                        setWriteTransactionSuccessful();
+                        endWriteTransaction();
+                        batch++;
+                        beginWriteTransaction();
+                    }
+                }
+                setWriteTransactionSuccessful();
+            } finally {
+                endWriteTransaction();
+                notifyTableChanged(tableName);
+            }
+        } finally {
+            statement.close();
+        }
+        long inserted = 0;
+        for (int count : batchCounts) {
+            inserted += count;
+        }
+        recordStatement(sql, null, start, inserted, 0);
+        return batchCounts;
+    }
+
+    /**
+     * Insert new rows and update changed rows in one pass, matching rows by the conflict columns
+     * <p>
+     * The conflict columns must be covered by a UNIQUE index or constraint (for example
+     * Column.uniqueIndex()). Each row is inserted first; when a row with the same key exists it
+     * is updated only if one of its values differs. Both statements are compiled once and every
+     * row runs inside one transaction.
+     * <p>
+     * From Android 11 (SQLite 3.28) the insert uses ON CONFLICT (key) DO NOTHING, so only the key
+     * conflict is skipped. Older versions use INSERT OR IGNORE, which also skips rows violating
+     * other constraints; a skipped row whose key does not exist is detected with one extra query.
+     * Either way a row violating NOT NULL, CHECK or another UNIQUE constraint throws
+     * SQLiteConstraintException and the whole merge is rolled back.
+     *
+     * @param columnNames     String array of column names - order of values in each row
+     * @param rows            List of rows - one Object array per row (String, Number, Boolean, byte[] or null)
+     * @param conflictColumns String array of key column names, each also present in columnNames
+     * @param tableName       name of table
+     * @return MergeResult - inserted, updated and unchanged counts
+     */
+    public MergeResult mergeRows(String columnNames[], List<Object[]> rows, String conflictColumns[], String tableName) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+
+        // Position of key and value columns inside a row
+        int keyIndexes[] = new int[conflictColumns.length];
+        ArrayList<Integer> valueIndexes = new ArrayList<>();
+        for (int i = 0; i < conflictColumns.length; i++) {
+            keyIndexes[i] = -1;
+            for (int j = 0; j < columnNames.length; j++) {
+                if (columnNames[j].replaceAll(" ", "_").equalsIgnoreCase(conflictColumns[i].replaceAll(" ", "_"))) {
+                    keyIndexes[i] = j;
+                }
+            }
+            if (keyIndexes[i] == -1) {
+                throw new IllegalArgumentException("Conflict column " + conflictColumns[i] + " is not in columnNames");
+            }
+        }
+        for (int j = 0; j < columnNames.length; j++) {
+            boolean isKey = false;
+            for (int keyIndex : keyIndexes) {
+                isKey |= keyIndex == j;
+            }
+            if (!isKey) valueIndexes.add(j);
+        }
+
+        // UPDATE table SET v = ? WHERE k = ? AND (v IS NOT ?)
+        String set = "", where = "", changed = "";
+        for (int i = 0; i < valueIndexes.size(); i++) {
+            String column = columnNames[valueIndexes.get(i)].replaceAll(" ", "_");
+            set += (i == 0 ? "" : ", ") + column + " = ?";
+            changed += (i == 0 ? "" : " OR ") + column + " IS NOT ?";
+        }
+        for (int i = 0; i < keyIndexes.length; i++) {
+            where += (i == 0 ? "" : " AND ") + conflictColumns[i].replaceAll(" ", "_") + " = ?";
+        }
+
+        long start = startTimer();
+        BloomFilter filters[][] = getBloomFilters(columnNames, tableName);
+        int inserted = 0, updated = 0, unchanged = 0;
+        boolean upsert = Build.VERSION.SDK_INT >= 30;
+        String keys = "";
+        for (int i = 0; i < conflictColumns.length; i++) {
+            keys += (i == 0 ? "" : ", ") + conflictColumns[i].replaceAll(" ", "_");
+        }
+        SQLiteStatement insert = writableDatabase.compileStatement(upsert
+                ? buildInsertSQL(columnNames, tableName) + " ON CONFLICT (" + keys + ") DO NOTHING"
+                : buildInsertSQL(columnNames, tableName).replaceFirst("INSERT", "INSERT OR IGNORE"));
+        SQLiteStatement update = valueIndexes.isEmpty() ? null
+                : writableDatabase.compileStatement("UPDATE " + tableName + " SET " + set + " WHERE " + where + " AND (" + changed + ")");
+        // INSERT OR IGNORE skips any constraint violation, so an ignored row must have an existing key
+        SQLiteStatement exists = upsert ? null
+                : writableDatabase.compileStatement("SELECT COUNT(*) FROM " + tableName + " WHERE " + where);
+        try {
+            beginWriteTransaction();
+            try {
+                for (Object row[] : rows) {
+                    if (filters != null) addToBloomFilters(filters, row);
+                    bindRow(insert, row);
+                    if (insert.executeInsert() != -1) {
+                        inserted++;
+                        continue;
+                    }
+                    if (update == null) {
+                        checkKeyExists(exists, row, keyIndexes, tableName);
+                        unchanged++;
+                        continue;
+                    }
+
+                    update.clearBindings();
+                    int index = 1;
+                    for (int valueIndex : valueIndexes) {
+                        bindValue(update, index++, valueIndex < row.length ? row[valueIndex] : null);
+                    }
+                    for (int keyIndex : keyIndexes) {
+                        bindValue(update, index++, keyIndex < row.length ? row[keyIndex] : null);
+                    }
+                    for (int valueIndex : valueIndexes) {
+                        bindValue(update, index++, valueIndex < row.length ? row[valueIndex] : null);
+                    }
+                    if (update.executeUpdateDelete() > 0) {
+                        updated++;
+                    } else {
+                        checkKeyExists(exists, row, keyIndexes, tableName);
+                        unchanged++;
+                    }
+                }
+                setWriteTransactionSuccessful();
+            } finally {
+                endWriteTransaction();
+                notifyTableChanged(tableName);
+            }
+        } finally {
+            insert.close();
+            if (update != null) update.close();
+            if (exists != null) exists.close();
+        }
+        recordStatement("MERGE INTO " + tableName + " ON " + where, null, start, inserted + updated, 0);
+        return new MergeResult(inserted, updated, unchanged);
+    }
+
+    /**
+     * Check the key of a row skipped by INSERT OR IGNORE exists, the insert was skipped for
+     * another constraint otherwise
+     *
+     * @param exists     SQLiteStatement counting rows with the key, null when the insert only skips key conflicts
+     * @param row        Object array of values
+     * @param keyIndexes Integer array of key positions inside the row
+     * @param tableName  name of table
+     * @throws SQLiteConstraintException if no row has the key
+     */
+    private void checkKeyExists(SQLiteStatement exists, Object row[], int keyIndexes[], String tableName) {
+        if (exists == null) return;
+        exists.clearBindings();
+        for (int i = 0; i < keyIndexes.length; i++) {
+            bindValue(exists, i + 1, keyIndexes[i] < row.length ? row[keyIndexes[i]] : null);
+        }
+        if (exists.simpleQueryForLong() == 0) {
+            throw new SQLiteConstraintException("Row not merged into " + tableName + " - it violates a constraint other than its key");
+        }
+    }
+
+    /**
+     * Insert the row buffer into table
+     * <p>
+     * The insert statement is compiled once per table and set of columns and kept in the
+     * statement cache, and the values are bound without boxing. Wrap many calls in
+     * runInTransaction to commit them together.
+     *
+     * @param row       RowBuffer with the values of the row
+     * @param tableName name of table
+     * @return row ID of the new row, -1 on error
+     */
+    public long insertRow(RowBuffer row, String tableName) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        long start = startTimer();
+        long result;
+        synchronized (statementLock) {
+            SQLiteStatement statement = getRowStatement("I|", row, tableName);
+            row.bindTo(statement, 1);
+            try {
+                result = statement.executeInsert();
+            } catch (SQLException e) {
+                LogHelper.w(TAG, "insertRow: " + e.getMessage());
+                result = -1;
+            }
+        }
+        if (start != 0) {
+            recordStatement(buildInsertSQL(row.getColumnNames(), tableName), null, start, result == -1 ? 0 : 1, 0);
+        }
+        addToBloomFilters(row, tableName);
+        notifyTableChanged(tableName);
+        return result;
+    }
+
+    /**
+     * Update the row with the given ID by the values of the row buffer
+     *
+     * @param row       RowBuffer with the new values of the row
+     * @param id        Long ID of the row
+     * @param tableName name of table
+     * @return boolean - returns true if row is updated, false if row is not updated
+     */
+    public boolean updateRow(RowBuffer row, long id, String tableName) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        long start = startTimer();
+        int result;
+        synchronized (statementLock) {
+            SQLiteStatement statement = getRowStatement("U|", row, tableName);
+            row.bindTo(statement, 1);
+            statement.bindLong(row.getColumnCount() + 1, id);
+            try {
+                result = statement.executeUpdateDelete();
+            } catch (SQLException e) {
+                LogHelper.w(TAG, "updateRow: " + e.getMessage());
+                result = 0;
+            }
+        }
+        if (start != 0) {
+            recordStatement(buildUpdateSQL(row.getColumnNames(), tableName), null, start, result, 0);
+        }
+        addToBloomFilters(row, tableName);
+        notifyTableChanged(tableName);
+        return result > 0;
+    }
+
+    /**
+     * Run the task inside one write transaction - committed if the task returns normally,
+     * rolled back if it throws
+     * <p>
+     * Use:
+     * <p>
+     * liteClass.runInTransaction(new Runnable() {
+     * public void run() {
+     * for (...) liteClass.insertRow(row.clear().putLong(0, value), "DEMO_TABLE");
+     * }
+     * });
+     *
+     * @param task Runnable to run
+     */
+    public void runInTransaction(Runnable task) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        beginWriteTransaction();
+        try {
+            task.run();
+            setWriteTransactionSuccessful();
+        } finally {
+            endWriteTransaction();
+        }
+    }
+
+    /**
+     * Get compiled insert or update statement of the row buffer columns from the statement cache
+     * - caller must hold statementLock
+     *
+     * @param kind      String "I|" for insert, "U|" for update by ID
+     * @param row       RowBuffer
+     * @param tableName name of table
+     * @return compiled SQLite statement
+     */
+    private SQLiteStatement getRowStatement(String kind, RowBuffer row, String tableName) {
+        String key = kind + tableName + "|" + row.getColumnsKey();
+        SQLiteStatement statement = statementCache.get(key);
+        if (statement == null) {
+            String sql = kind.equals("I|") ? buildInsertSQL(row.getColumnNames(), tableName)
+                    : buildUpdateSQL(row.getColumnNames(), tableName);
+            statement = writableDatabase.compileStatement(sql);
+            statementCache.put(key, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * Build update by ID statement with one bind argument per column and the ID as last argument
+     *
+     * @param columnNames String array of column names
+     * @param tableName   name of table
+     * @return String update SQL
+     */
+    private static String buildUpdateSQL(String columnNames[], String tableName) {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(tableName).append(" SET ");
+        for (int i = 0; i < columnNames.length; i++) {
+            sql.append(i == 0 ? "" : ", ").append(columnNames[i].replaceAll(" ", "_")).append(" = ?");
+        }
+        return sql.append(" WHERE ID = ?").toString();
+    }
+
+    /**
+     * Build insert statement with one bind argument per column
+     *
+     * @param columnNames String array of column names
+     * @param tableName   name of table
+     * @return String insert SQL
+     */
+    private static String buildInsertSQL(String columnNames[], String tableName) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName).append(" (");
+        for (int i = 0; i < columnNames.length; i++) {
+            sql.append(i == 0 ? "" : ", ").append(columnNames[i].replaceAll(" ", "_"));
+        }
+        sql.append(") VALUES (");
+        for (int i = 0; i < columnNames.length; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(")").toString();
+    }
+
+    /**
+     * Bind one row to the statement by index - missing values are bound as null
+     *
+     * @param statement compiled SQLite statement
+     * @param row       Object array of values
+     */
+    private static void bindRow(SQLiteStatement statement, Object row[]) {
+        statement.clearBindings();
+        for (int i = 0; i < row.length; i++) {
+            bindValue(statement, i + 1, row[i]);
+        }
+    }
+
+    /**
+     * Bind single value to the statement according to its type
+     *
+     * @param statement compiled SQLite statement or query
+     * @param index     Integer bind index (1 based)
+     * @param value     value to bind
+     */
+    static void bindValue(SQLiteProgram statement, int index, Object value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else if (value instanceof byte[]) {
+            statement.bindBlob(index, (byte[]) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            statement.bindDouble(index, ((Number) value).doubleValue());
+        } else if (value instanceof Number) {
+            statement.bindLong(index, ((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            statement.bindLong(index, (Boolean) value ? 1 : 0);
+        } else {
+            statement.bindString(index, value.toString());
+        }
+    }
+
+    /**
+     * Update String data of the table by given column number
+     *
+     * @param columnNumber Integer column number in which you want to update data
+     * @param data         String data which you want to update
+     * @return SQLiteDBHelper
+     */
+    public SQLiteDBHelper updateData(int columnNumber, String data) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        contentValues.put(columns.get(columnNumber - 1).columnName, data);
+        return this;
+    }
+
+    /**
+     * Insert data into table
+     *
+     * @param tableName     table name
+     * @param contentValues content values
+     * @return row ID of the new row, -1 on error
+     */
+    public long insertData(String tableName, ContentValues contentValues) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        long start = startTimer();
+        long result = writableDatabase.insert(tableName, null, contentValues);
+        recordStatement("INSERT INTO " + tableName, null, start, result == -1 ? 0 : 1, 0);
+        addToBloomFilters(contentValues, tableName);
+        notifyTableChanged(tableName);
+        return result;
+    }
+
+    /**
+     * Update data to table
+     *
+     * @param tableName     table name
+     * @param contentValues content values
+     * @param query         query
+     * @return the number of rows affected
+     */
+    public int updateData(String tableName, ContentValues contentValues, String query) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        long start = startTimer();
+        int result = writableDatabase.update(tableName, contentValues, query, null);
+        recordStatement("UPDATE " + tableName + " WHERE " + query, null, start, result, 0);
+        addToBloomFilters(contentValues, tableName);
+        notifyTableChanged(tableName);
+        return result;
+    }
+
+    /**
+     * Update - Get the row by ID to update the data
+     *
+     * @param id        Integer ID of the row
+     * @param tableName name of table
+     * @return boolean - returns true if row is updated, false if row is not updated
+     */
+    public boolean rowID(int id, String tableName) {
+        try {
+            long start = startTimer();
+            String args[] = new String[]{String.valueOf(id)};
+            int result = writableDatabase.update(tableName, contentValues, "id = ?", args);
+            recordStatement("UPDATE " + tableName + " WHERE id = ?", args, start, result, 0);
+            addToBloomFilters(contentValues, tableName);
+            return result > 0;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            notifyTableChanged(tableName);
+        }
+    }
+
+    /**
+     * Get all the column from table
+     *
+     * @return String[] array of columns
+     */
+    public String[] getAllColumns() {
+        String allColNames[] = new String[columns.size() + 1];
+        allColNames[0] = "ID";
+        for (int i = 0; i < columns.size(); i++) {
+            allColNames[i + 1] = columns.get(i).columnName;
+        }
+        return allColNames;
+    }
+
+
+    /**
+     * Get all data from table
+     *
+     * @param tableName name of table
+     * @return Cursor
+     */
+    public Cursor getAllData(String tableName) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        String key = getResultTableKey(tableName) + "|*";
+        Cursor cached = getCachedResult(key, tableName);
+        if (cached != null) return cached;
+        int generation = getTableGeneration(tableName);
+        return putCachedResult(key, tableName, generation, rawQuery("select * from " + tableName, null));
+    }
+
+    /**
+     * Get all data from table by order either in ascending or descending
+     *
+     * @param columnNumber Integer column number to which you want to order
+     * @param ascending    boolean - true for ascending - false for descending
+     * @param tableName    name of table
+     * @return cursor
+     */
+    public Cursor getAllDataOrderedBy(int columnNumber, boolean ascending, String tableName) {
+        String postfix = ascending ? "" : " DESC ";
+        String colNam = columnNumber == 0 ? " ID " : columns.get(columnNumber - 1).columnName;
+        if (!initedDb || writableDatabase == null) initDatabase();
+        String sql = "select * from " + tableName + " ORDER BY " + colNam + postfix;
+        if (queryPlanDiagnostics) checkQueryPlan(sql, null);
+        Cursor res = rawQuery(sql, null);
+        return res;
+    }
+
+    /**
+     * Get all data from table page by page, ordered either in ascending or descending
+     * <p>
+     * Pages are read with keyset pagination (where orderColumn &gt; lastSeen order by orderColumn limit n),
+     * so reading the last page costs the same as reading the first one.
+     * <p>
+     * Use:
+     * <p>
+     * KeysetPager pager = liteClass.getPagedDataOrderedBy(1, true, 50, true, "DEMO_TABLE");
+     * Cursor page;
+     * while ((page = pager.nextPage()) != null) {
+     * ...
+     * page.close();
+     * }
+     * pager.close();
+     *
+     * @param columnNumber Integer column number to which you want to order, 0 for ID
+     * @param ascending    boolean - true for ascending - false for descending
+     * @param pageSize     Integer page size hint, 0 or less for the default page size
+     * @param prefetch     boolean - true to fetch the next page on a background thread
+     * @param tableName    name of table
+     * @return KeysetPager - must be closed when done
+     */
+    public KeysetPager getPagedDataOrderedBy(int columnNumber, boolean ascending, int pageSize, boolean prefetch, String tableName) {
+        return new KeysetPager(this, columnNumber, ascending, pageSize, prefetch, tableName);
+    }
+
+    /**
+     * Get one page of data from table ordered by column and ID, starting after the given key
+     *
+     * @param columnNumber Integer column number to which you want to order, 0 for ID
+     * @param ascending    boolean - true for ascending - false for descending
+     * @param hasLastKey   boolean - false for the first page
+     * @param lastValue    String order column value of the last row of the previous page
+     * @param lastId       Long ID of the last row of the previous page
+     * @param pageSize     Integer maximum number of rows in the page
+     * @param tableName    name of table
+     * @return cursor
+     */
+    public Cursor getDataPage(int columnNumber, boolean ascending, boolean hasLastKey, String lastValue, long lastId, int pageSize, String tableName) {
+        return getDataPage(columnNumber, ascending, hasLastKey, (Object) lastValue, lastId, pageSize, tableName);
+    }
+
+    /**
+     * Get one page of data from table ordered by column and ID, starting after the given key
+     * <p>
+     * The last value is bound by its type, so REAL values keep their full precision - read it
+     * from the cursor with getLong, getDouble or getString according to Cursor.getType.
+     *
+     * @param columnNumber Integer column number to which you want to order, 0 for ID
+     * @param ascending    boolean - true for ascending - false for descending
+     * @param hasLastKey   boolean - false for the first page
+     * @param lastValue    order column value of the last row of the previous page - Long, Double, String, byte[] or null
+     * @param lastId       Long ID of the last row of the previous page
+     * @param pageSize     Integer maximum number of rows in the page
+     * @param tableName    name of table
+     * @return cursor
+     */
+    public Cursor getDataPage(int columnNumber, boolean ascending, boolean hasLastKey, Object lastValue, long lastId, int pageSize, String tableName) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        String colNam = getColumnName(columnNumber);
+        Object limit = pageSize;
+        Object id = lastId;
+
+        // NULL values sort first in ascending and last in descending order
+        int shape;
+        Object args[];
+        if (!hasLastKey) {
+            shape = 0;
+            args = new Object[]{limit};
+        } else if (columnNumber == 0) {
+            shape = 1;
+            args = new Object[]{id, limit};
+        } else if (lastValue == null) {
+            shape = 2;
+            args = new Object[]{id, limit};
+        } else {
+            shape = 3;
+            args = new Object[]{lastValue, lastValue, id, limit};
+        }
+
+        String key = "P|" + tableName + "|" + colNam + "|" + ascending + "|" + shape;
+        String sql = queryCache.get(key);
+        if (sql == null) {
+            String compare = ascending ? " > ?" : " < ?";
+            String where;
+            switch (shape) {
+                case 0:
+                    where = "";
+                    break;
+                case 1:
+                    where = " WHERE ID" + compare;
+                    break;
+                case 2:
+                    where = ascending
+                            ? " WHERE (" + colNam + " IS NULL AND ID > ?) OR " + colNam + " IS NOT NULL"
+                            : " WHERE " + colNam + " IS NULL AND ID < ?";
+                    break;
+                default:
+                    where = " WHERE " + colNam + compare + " OR (" + colNam + " = ? AND ID" + compare + ")"
+                            + (ascending ? "" : " OR " + colNam + " IS NULL");
+                    break;
+            }
+            String postfix = ascending ? "" : " DESC";
+            sql = "SELECT * FROM " + tableName + where + " ORDER BY "
+                    + (columnNumber == 0 ? "ID" + postfix : colNam + postfix + ", ID" + postfix) + " LIMIT ?";
+            queryCache.put(key, sql);
+        }
+        return rawQueryTyped(sql, args);
+    }
+
+    /**
+     * Stream rows of the table to the row mapper without building a list of the result
+     * <p>
+     * Use:
+     * <p>
+     * final long sum[] = new long[1];
+     * liteClass.forEachRow(new String[]{"Age"}, new RowMapper() {
+     * public boolean onRow(RowReader row, int position) {
+     * sum[0] += row.getLong(0);
+     * return true;
+     * }
+     * }, "DEMO_TABLE");
+     *
+     * @param columnNames String array of column names to read, null for all columns
+     * @param mapper      RowMapper called for every row
+     * @param tableName   name of table
+     * @return Integer number of rows passed to the mapper
+     */
+    public int forEachRow(String columnNames[], RowMapper mapper, String tableName) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        String projection = "*";
+        if (columnNames != null && columnNames.length > 0) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < columnNames.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(columnNames[i].replaceAll(" ", "_"));
+            }
+            projection = builder.toString();
+        }
+        return forEachRow(rawQuery("SELECT " + projection + " FROM " + tableName, null), columnNames, mapper);
+    }
+
+    /**
+     * Stream rows of the cursor to the row mapper - column indexes are resolved once per cursor
+     * and the cursor is closed at the end
+     *
+     * @param cursor      cursor to read, for example from getAllData
+     * @param columnNames String array of column names to read, null for all columns
+     * @param mapper      RowMapper called for every row
+     * @return Integer number of rows passed to the mapper
+     */
+    public int forEachRow(Cursor cursor, String columnNames[], RowMapper mapper) {
+        if (cursor == null) return 0;
+        int position = 0;
+        try {
+            RowReader reader = new RowReader(cursor, columnNames);
+            while (cursor.moveToNext()) {
+                if (!mapper.onRow(reader, position++)) break;
+            }
+        } finally {
+            cursor.close();
+        }
+        return position;
+    }
+
+    /**
+     * Get one row from the table by row ID
+     *
+     * @param rowID     Integer row ID for get any row from table
+     * @param tableName name of table
+     * @return cursor
+     */
+    public Cursor getOneRowData(int rowID, String tableName) {
+        return getOneRowDataCached("ID", String.valueOf(rowID), tableName);
+    }
+
+    /**
+     * Get data from the table by column number and string value
+     *
+     * @param columnNumber Integer column number
+     * @param value        String value for give a condition to get data
+     * @param tableName    name of table
+     * @return cursor
+     */
+    public Cursor getOneRowData(int columnNumber, String value, String tableName) {
+        return getOneRowDataCached(getColumnName(columnNumber), value, tableName);
+    }
+
+
+    /**
+     * Get data from the table by column name and string value
+     *
+     * @param columnName String column name
+     * @param value      String value for give a condition to get data
+     * @param tableName  name of table
+     * @return cursor
+     */
+    public Cursor getOneRowData(String columnName, String value, String tableName) {
+        return getOneRowDataCached(columnName.trim(), value, tableName);
+    }
+
+    /**
+     * Get first row where column = value, served from the result cache when enabled
+     *
+     * @param columnName String column name
+     * @param value      String value to match
+     * @param tableName  name of table
+     * @return cursor or null if no row matches
+     */
+    private Cursor getOneRowDataCached(String columnName, String value, String tableName) {
+        BloomFilter filter = getBloomFilter(columnName, tableName);
+        if (filter != null && !filter.mightContain(toBloomValue(value))) return null;
+
+        Cursor cursor;
+        if (!isResultCached(tableName)) {
+            cursor = nullIfEmpty(rawQueryCached(columnName, "1", new String[]{value}, tableName));
+        } else {
+            String key = getResultTableKey(tableName) + "|" + columnName + "|" + columns.size() + "|" + value;
+            cursor = getCachedResult(key, tableName);
+            if (cursor == null) {
+                int generation = getTableGeneration(tableName);
+                cursor = putCachedResult(key, tableName, generation, rawQueryCached(columnName, "1", new String[]{value}, tableName));
+            }
+            cursor = nullIfEmpty(cursor);
+        }
+        if (filter != null && cursor == null) filter.recordFalsePositive();
+        return cursor;
+    }
+
+
+    /**
+     * Search data from the table
+     *
+     * @param columnNumber  Integer column number in which you want to search
+     * @param valueToSearch String value which you want to search
+     * @param limit         Integer limit - to set the limit of the result
+     * @param tableName     name of table
+     * @return cursor
+     */
+    public Cursor searchInColumn(int columnNumber, String valueToSearch, int limit, String tableName) {
+        return nullIfEmpty(rawQueryCached(getColumnName(columnNumber), "?",
+                new String[]{valueToSearch, String.valueOf(limit)}, tableName));
+    }
+
+
+    /**
+     * Search data from the table
+     *
+     * @param columnName    String column name in which you want to search
+     * @param valueToSearch String value which you want to search
+     * @param limit         Integer limit - to set the limit of the result
+     * @param tableName     name of table
+     * @return cursor
+     */
+    public Cursor searchInColumn(String columnName, String valueToSearch, int limit, String tableName) {
+        return nullIfEmpty(rawQueryCached(columnName, "?",
+                new String[]{valueToSearch, String.valueOf(limit)}, tableName));
+    }
+
+    /**
+     * Full-text search in every full-text column of the table, best matches first
+     * <p>
+     * Columns are made searchable with Column.fullTextSearch() before doneTableColumn
+     *
+     * @param valueToSearch String words to search
+     * @param prefix        boolean - true to match words starting with the given words (search as you type)
+     * @param limit         Integer limit - to set the limit of the result, -1 for no limit
+     * @param tableName     name of table
+     * @return cursor - null if nothing matches
+     */
+    public Cursor fullTextSearch(String valueToSearch, boolean prefix, int limit, String tableName) {
+        return searchFullText(tableName + FULL_TEXT_SUFFIX, valueToSearch, prefix, limit, tableName);
+    }
+
+    /**
+     * Full-text search in one full-text column of the table, best matches first
+     *
+     * @param columnName    String full-text column name in which you want to search
+     * @param valueToSearch String words to search
+     * @param prefix        boolean - true to match words starting with the given words (search as you type)
+     * @param limit         Integer limit - to set the limit of the result, -1 for no limit
+     * @param tableName     name of table
+     * @return cursor - null if nothing matches
+     */
+    public Cursor searchInColumnFullText(String columnName, String valueToSearch, boolean prefix, int limit, String tableName) {
+        return searchFullText(columnName.replaceAll(" ", "_"), valueToSearch, prefix, limit, tableName);
+    }
+
+    /**
+     * Rebuild the full-text index of the table from the rows of the table
+     *
+     * @param tableName name of table
+     */
+    public void rebuildFullTextIndex(String tableName) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        String ftsTable = tableName + FULL_TEXT_SUFFIX;
+        execSQL(writableDatabase, "INSERT INTO " + ftsTable + " (" + ftsTable + ") VALUES ('rebuild')");
+    }
+
+    /**
+     * Run full-text query ranked by number of matches
+     *
+     * @param matchColumn   String full-text column, or the full-text table to search every column
+     * @param valueToSearch String words to search
+     * @param prefix        boolean - true for prefix search
+     * @param limit         Integer limit
+     * @param tableName     name of table
+     * @return cursor or null
+     */
+    private Cursor searchFullText(String matchColumn, String valueToSearch, boolean prefix, int limit, String tableName) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        String match = buildMatchQuery(valueToSearch, prefix);
+        if (match.length() == 0) return null;
+
+        String key = "F|" + tableName + "|" + matchColumn;
+        String sql = queryCache.get(key);
+        if (sql == null) {
+            String ftsTable = tableName + FULL_TEXT_SUFFIX;
+            // offsets() lists 4 space separated integers per match - count the matches, not the digits
+            sql = "SELECT " + tableName + ".* FROM " + tableName + " JOIN (SELECT docid,"
+                    + " (length(fts_offsets) - length(replace(fts_offsets, ' ', '')) + 1) / 4 AS fts_rank"
+                    + " FROM (SELECT docid, offsets(" + ftsTable + ") AS fts_offsets FROM " + ftsTable + " WHERE " + matchColumn + " MATCH ?)"
+                    + " ORDER BY fts_rank DESC LIMIT ?) AS fts"
+                    + " ON " + tableName + ".ID = fts.docid ORDER BY fts.fts_rank DESC";
+            queryCache.put(key, sql);
+        }
+        return nullIfEmpty(rawQuery(sql, new String[]{match, String.valueOf(limit)}));
+    }
+
+    /**
+     * Turn user input into full-text query - only letters and digits are kept from each word
+     *
+     * @param valueToSearch String user input
+     * @param prefix        boolean - true to add * to every word
+     * @return String match expression, blank if there is nothing to search
+     */
+    private static String buildMatchQuery(String valueToSearch, boolean prefix) {
+        StringBuilder match = new StringBuilder();
+        for (String word : valueToSearch.split("\\s+")) {
+            StringBuilder term = new StringBuilder();
+            for (int i = 0; i < word.length(); i++) {
+                if (Character.isLetterOrDigit(word.charAt(i))) term.append(word.charAt(i));
+            }
+            if (term.length() == 0) continue;
+            match.append(match.length() == 0 ? "" : " ").append(term).append(prefix ? "*" : "");
+        }
+        return match.toString();
+    }
+
+    /**
+     * Get column name by column number - 0 is the ID column
+     *
+     * @param columnNumber Integer column number
+     * @return String column name
+     */
+    private String getColumnName(int columnNumber) {
+        return columnNumber == 0 ? "ID" : columns.get(columnNumber - 1).columnName;
+    }
+
+    /**
+     * Return the cursor if it has rows, otherwise close it and return null
+     *
+     * @param cursor cursor
+     * @return cursor or null
+     */
+    private static Cursor nullIfEmpty(Cursor cursor) {
+        if (cursor.getCount() > 0) {
+            return cursor;
+        } else {
+            cursor.close();
+            return null;
+        }
+    }
+
+    /**
+     * Run "select all columns where column = ? limit" query, reusing the SQL of the same query shape
+     * <p>
+     * The SQL string is cached per table, column and limit, so repeated lookups skip building
+     * the SQL and hit the compiled statement cache of the database connection.
+     *
+     * @param columnName String column name used in where clause
+     * @param limit      String limit - "?" to bind the limit as last argument
+     * @param args       String array of bind arguments
+     * @param tableName  name of table
+     * @return cursor
+     */
+    private Cursor rawQueryCached(String columnName, String limit, String args[], String tableName) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        String key = tableName + "|" + columnName + "|" + limit + "|" + columns.size();
+        String sql = queryCache.get(key);
+        if (sql == null) {
+            StringBuilder builder = new StringBuilder("SELECT ");
+            String allColNames[] = getAllColumns();
+            for (int i = 0; i < allColNames.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(allColNames[i]);
+            }
+            builder.append(" FROM ").append(tableName)
+                    .append(" WHERE ").append(columnName.trim()).append(" = ?")
+                    .append(" LIMIT ").append(limit);
+            sql = builder.toString();
+            queryCache.put(key, sql);
+        }
+        if (queryPlanDiagnostics) checkQueryPlan(sql, args);
+        return rawQuery(sql, args);
+    }
+
+    /**
+     * Match column from the give data
+     *
+     * @param columnsToMatch String array of column name from table - to match the column
+     * @param valuesToMatch  String array of values - to match the data from give array of column
+     * @param tableName      name of table
+     * @return boolean - returns true if match otherwise false if not match
+     */
+    public boolean matchColumns(String columnsToMatch[], String valuesToMatch[], String tableName) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        // A row can not match every column if one value was never stored in its column
+        BloomFilter filter = null;
+        for (int i = 0; i < columnsToMatch.length; i++) {
+            BloomFilter columnFilter = getBloomFilter(columnsToMatch[i], tableName);
+            if (columnFilter == null) continue;
+            if (!columnFilter.mightContain(toBloomValue(valuesToMatch[i]))) return false;
+            filter = columnsToMatch.length == 1 ? columnFilter : null;
+        }
+
+        StringBuilder key = new StringBuilder("M|").append(tableName);
+        for (String column : columnsToMatch) {
+            key.append('|').append(column);
+        }
+
+        synchronized (statementLock) {
+            SQLiteStatement statement = statementCache.get(key.toString());
+            if (statement == null) {
+                String sql = buildMatchSQL(columnsToMatch, tableName);
+                if (queryPlanDiagnostics) checkQueryPlan(sql, valuesToMatch);
+                statement = writableDatabase.compileStatement(sql);
+                statementCache.put(key.toString(), statement);
+            }
+            long start = startTimer();
+            statement.bindAllArgsAsStrings(valuesToMatch);
+            boolean matched = statement.simpleQueryForLong() > 0;
+            if (filter != null && !matched) filter.recordFalsePositive();
+            if (start != 0) {
+                recordStatement(buildMatchSQL(columnsToMatch, tableName), valuesToMatch, start, matched ? 1 : 0, 0);
+            }
+            return matched;
+        }
+    }
+
+    /**
+     * Check if any row of the table has the value in the column
+     * <p>
+     * With a Bloom filter enabled on the column, values which were never stored return false
+     * without running a query.
+     *
+     * @param columnName String column name
+     * @param value      String value to match
+     * @param tableName  name of table
+     * @return boolean - returns true if a row has the value
+     */
+    public boolean exists(String columnName, String value, String tableName) {
+        return matchColumns(new String[]{columnName.trim().replaceAll(" ", "_")}, new String[]{value}, tableName);
+    }
+
+    /**
+     * Keep in-memory Bloom filter of the column values so matchColumns, exists and getOneRowData
+     * answer "not found" without a query for most values which are not in the table
+     * <p>
+     * The filter is built by reading the column when the database is opened and is updated by
+     * every insert and update done through the helper. Rows deleted from the table stay in the
+     * filter until it is rebuilt - call this method again to rebuild it.
+     * <p>
+     * Use:
+     * <p>
+     * liteClass.enableBloomFilter("Email", 10000, 0.01, "DEMO_TABLE");
+     *
+     * @param columnName        String column name
+     * @param expectedRows      Integer expected number of rows - the filter grows with the table on rebuild
+     * @param falsePositiveRate Double false positive rate between 0 and 1 (for example 0.01)
+     * @param tableName         name of table
+     * @return SQLiteDBHelper
+     */
+    public SQLiteDBHelper enableBloomFilter(String columnName, int expectedRows, double falsePositiveRate, String tableName) {
+        String key = getBloomKey(columnName, tableName);
+        if (key.endsWith("|ID")) {
+            throw new IllegalArgumentException("ID lookups already use the primary key");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        synchronized (bloomLock) {
+            bloomSpecs.put(key, new ImmutablePair<>(expectedRows, falsePositiveRate));
+            bloomFilters.remove(key);
+        }
+        if (initedDb && writableDatabase != null) buildBloomFilter(key);
+        return this;
+    }
+
+    /**
+     * Remove Bloom filter of the column
+     *
+     * @param columnName String column name
+     * @param tableName  name of table
+     */
+    public void disableBloomFilter(String columnName, String tableName) {
+        String key = getBloomKey(columnName, tableName);
+        synchronized (bloomLock) {
+            bloomSpecs.remove(key);
+            bloomFilters.remove(key);
+        }
+    }
+
+    /**
+     * Get statistics of the Bloom filter of the column
+     * <p>
+     * Contains bitCount, hashCount, expectedInsertions, insertions, falsePositiveRate,
+     * expectedFalsePositiveRate, lookups, definiteMisses, falsePositives and observedFalsePositiveRate
+     *
+     * @param columnName String column name
+     * @param tableName  name of table
+     * @return JSONObject or null if the column has no Bloom filter
+     */
+    public JSONObject getBloomFilterStats(String columnName, String tableName) {
+        BloomFilter filter = getBloomFilter(columnName, tableName);
+        return filter == null ? null : filter.snapshot();
+    }
+
+    /**
+     * Get Bloom filter key of the column
+     *
+     * @param columnName String column name
+     * @param tableName  name of table
+     * @return String key
+     */
+    private static String getBloomKey(String columnName, String tableName) {
+        return (tableName.trim() + "|" + columnName.trim().replaceAll(" ", "_")).toUpperCase(Locale.US);
+    }
+
+    /**
+     * Get ready Bloom filter of the column
+     *
+     * @param columnName String column name
+     * @param tableName  name of table
+     * @return BloomFilter or null if the column has no ready filter
+     */
+    private BloomFilter getBloomFilter(String columnName, String tableName) {
+        synchronized (bloomLock) {
+            if (bloomSpecs.isEmpty()) return null;
+            return bloomFilters.get(getBloomKey(columnName, tableName));
+        }
+    }
+
+    /**
+     * Get Bloom filters - ready and being built - of the columns
+     *
+     * @param columnNames String array of column names
+     * @param tableName   name of table
+     * @return BloomFilter array with the ready and building filter of each column, null if no column has a filter
+     */
+    private BloomFilter[][] getBloomFilters(String columnNames[], String tableName) {
+        synchronized (bloomLock) {
+            if (bloomSpecs.isEmpty()) return null;
+            BloomFilter filters[][] = null;
+            for (int i = 0; i < columnNames.length; i++) {
+                String key = getBloomKey(columnNames[i], tableName);
+                BloomFilter ready = bloomFilters.get(key), building = bloomFiltersBuilding.get(key);
+                if (ready == null && building == null) continue;
+                if (filters == null) filters = new BloomFilter[columnNames.length][];
+                filters[i] = new BloomFilter[]{ready, building};
+            }
+            return filters;
+        }
+    }
+
+    /**
+     * Add values of one row to the Bloom filters
+     *
+     * @param filters filters from getBloomFilters
+     * @param row     Object array of values
+     */
+    private static void addToBloomFilters(BloomFilter filters[][], Object row[]) {
+        for (int i = 0; i < filters.length && i < row.length; i++) {
+            if (filters[i] == null) continue;
+            String value = toBloomValue(row[i]);
+            for (BloomFilter filter : filters[i]) {
+                if (filter != null) filter.put(value);
+            }
+        }
+    }
+
+    /**
+     * Add written row buffer values to the Bloom filters of the table
+     *
+     * @param row       RowBuffer
+     * @param tableName name of table
+     */
+    private void addToBloomFilters(RowBuffer row, String tableName) {
+        synchronized (bloomLock) {
+            if (bloomSpecs.isEmpty()) return;
+        }
+        BloomFilter filters[][] = getBloomFilters(row.getColumnNames(), tableName);
+        if (filters == null) return;
+        Object values[] = new Object[row.getColumnCount()];
+        for (int i = 0; i < values.length; i++) {
+            if (filters[i] != null) values[i] = row.getValue(i);
+        }
+        addToBloomFilters(filters, values);
+    }
+
+    /**
+     * Add written content values to the Bloom filters of the table
+     *
+     * @param contentValues content values
+     * @param tableName     name of table
+     */
+    private void addToBloomFilters(ContentValues contentValues, String tableName) {
+        synchronized (bloomLock) {
+            if (bloomSpecs.isEmpty() || contentValues == null) return;
+        }
+        String columnNames[] = new String[contentValues.size()];
+        Object row[] = new Object[contentValues.size()];
+        int i = 0;
+        for (Map.Entry<String, Object> entry : contentValues.valueSet()) {
+            columnNames[i] = entry.getKey();
+            row[i++] = entry.getValue();
+        }
+        BloomFilter filters[][] = getBloomFilters(columnNames, tableName);
+        if (filters != null) addToBloomFilters(filters, row);
+    }
+
+    /**
+     * Build Bloom filters of every column with a filter enabled
+     */
+    private void buildBloomFilters() {
+        ArrayList<String> keys;
+        synchronized (bloomLock) {
+            keys = new ArrayList<>(bloomSpecs.keySet());
+        }
+        for (String key : keys) {
+            buildBloomFilter(key);
+        }
+    }
+
+    /**
+     * Build Bloom filters of every column of the table with a filter enabled
+     *
+     * @param tableName name of table
+     */
+    private void buildBloomFilters(String tableName) {
+        ArrayList<String> keys = new ArrayList<>();
+        String prefix = getBloomKey("", tableName);
+        synchronized (bloomLock) {
+            for (String key : bloomSpecs.keySet()) {
+                if (key.startsWith(prefix)) keys.add(key);
+            }
+        }
+        for (String key : keys) {
+            buildBloomFilter(key);
+        }
+    }
+
+    /**
+     * Build Bloom filter by reading every value of the column
+     * <p>
+     * Values written while the column is read are added to the new filter as well, and the
+     * filter is only used for lookups once it is complete.
+     *
+     * @param key String Bloom filter key
+     */
+    private void buildBloomFilter(String key) {
+        ImmutablePair<Integer, Double> spec;
+        synchronized (bloomLock) {
+            spec = bloomSpecs.get(key);
+        }
+        if (spec == null) return;
+        String tableName = key.substring(0, key.indexOf('|'));
+        String columnName = key.substring(key.indexOf('|') + 1);
+
+        Cursor cursor = null;
+        try {
+            long rows = DatabaseUtils.queryNumEntries(getDatabase(), tableName);
+            BloomFilter filter = new BloomFilter((int) Math.min(Integer.MAX_VALUE, Math.max(spec.element1, rows * 2)), spec.element2);
+            synchronized (bloomLock) {
+                bloomFiltersBuilding.put(key, filter);
+            }
+            cursor = rawQuery("SELECT " + columnName + " FROM " + tableName, null);
+            while (cursor.moveToNext()) {
+                // Read by type, getString formats REAL values with 15 significant digits only
+                switch (cursor.getType(0)) {
+                    case Cursor.FIELD_TYPE_INTEGER:
+                        filter.put(toBloomValue(Long.valueOf(cursor.getLong(0))));
+                        break;
+                    case Cursor.FIELD_TYPE_FLOAT:
+                        filter.put(toBloomValue(Double.valueOf(cursor.getDouble(0))));
+                        break;
+                    case Cursor.FIELD_TYPE_STRING:
+                        filter.put(toBloomValue(cursor.getString(0)));
+                        break;
+                }
+            }
+            synchronized (bloomLock) {
+                if (bloomSpecs.get(key) == spec) bloomFilters.put(key, filter);
+            }
+        } catch (SQLException e) {
+            LogHelper.w(TAG, "Bloom filter of " + key + " not built - " + e.getMessage());
+        } finally {
+            if (cursor != null) cursor.close();
+            synchronized (bloomLock) {
+                bloomFiltersBuilding.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Convert value to the text stored in the Bloom filter
+     * <p>
+     * Numbers are written in one canonical form and text is lower cased, so every value which
+     * SQLite may consider equal (5, 5.0, "5", "abc" in a NOCASE column) maps to the same text.
+     * Written values, looked up values and values read back while the filter is rebuilt all
+     * go through this method.
+     *
+     * @param value value bound to the statement or read from the column
+     * @return String value or null for values which are never matched (null and blobs)
+     */
+    private static String toBloomValue(Object value) {
+        if (value == null || value instanceof byte[]) return null;
+        if (value instanceof Boolean) return (Boolean) value ? "1" : "0";
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return String.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return toBloomNumber(((Number) value).doubleValue());
+        }
+        String text = value.toString();
+        String trimmed = text.trim();
+        try {
+            // Integers as text keep every digit, a double holds 53 bits only
+            return String.valueOf(Long.parseLong(trimmed));
+        } catch (NumberFormatException e) {
+            // Not an integer
+        }
+        try {
+            return toBloomNumber(Double.parseDouble(trimmed));
+        } catch (NumberFormatException e) {
+            return text.toLowerCase(Locale.US);
+        }
+    }
+
+    /**
+     * Convert number to the text stored in the Bloom filter
+     *
+     * @param number double value
+     * @return String integer text for whole numbers in the range of long, otherwise Double.toString
+     */
+    private static String toBloomNumber(double number) {
+        if (number == Math.rint(number) && number >= Long.MIN_VALUE && number < Long.MAX_VALUE) {
+            return String.valueOf((long) number);
+        }
+        return String.valueOf(number);
+    }
+
+    /**
+     * Build "does any row match every column" statement
+     *
+     * @param columnsToMatch String array of column names
+     * @param tableName      name of table
+     * @return String SQL
+     */
+    private static String buildMatchSQL(String columnsToMatch[], String tableName) {
+        String query = "";
+        for (int i = 0; i < columnsToMatch.length; i++) {
+            query += columnsToMatch[i] + " = ? ";
+            if (i != columnsToMatch.length - 1) {
+                query += " AND ";
+            }
+        }
+        return "SELECT EXISTS (SELECT 1 FROM " + tableName + " WHERE " + query + ")";
+    }
+
+    /**
+     * Delete the row by it's ID
+     *
+     * @param id        Integer ID of the row
+     * @param tableName name of table
+     * @return boolean - true if row is deleted, false if not delted
+     */
+    public boolean deleteRow(int id, String tableName) {
+        return deleteCached("ID", String.valueOf(id), tableName) == 1;
+    }
+
+    /**
+     * Delete row by column number and integer data
+     *
+     * @param columnNumber Integer column number in which you want delete data
+     * @param valueToMatch Integer data to delete from the row
+     * @param tableName    name of table
+     * @return boolean - true if row is deleted, false if not deleted
+     */
+    public boolean deleteRow(int columnNumber, int valueToMatch, String tableName) {
+        return deleteCached(columns.get(columnNumber - 1).columnName, String.valueOf(valueToMatch), tableName) == 1;
+    }
+
+
+    /**
+     * Delete row by column number and string data
+     *
+     * @param columnNumber Integer column number in which you want delete data
+     * @param valueToMatch String data to delete from the row
+     * @param tableName    name of table
+     * @return boolean - true if row is deleted, false if not deleted
+     */
+    public boolean deleteRow(int columnNumber, String valueToMatch, String tableName) {
+        return deleteCached(columns.get(columnNumber - 1).columnName, valueToMatch, tableName) == 1;
+    }
+
+    /**
+     * Delete row by column name and integer data
+     *
+     * @param columnName   String column name in which you want delete data
+     * @param valueToMatch Integer data to delete from the row
+     * @param tableName    name of table
+     * @return boolean - true if row is deleted, false if not deleted
+     */
+    public boolean deleteRow(String columnName, int valueToMatch, String tableName) {
+        return deleteCached(columnName, String.valueOf(valueToMatch), tableName) == 1;
+    }
+
+    /**
+     * Delete row by column name and string data
+     *
+     * @param columnName   String column name in which you want delete data
+     * @param valueToMatch String data to delete from the row
+     * @param tableName    name of table
+     * @return boolean - true if row is deleted, false if not deleted
+     */
+    public boolean deleteRow(String columnName, String valueToMatch, String tableName) {
+        return deleteCached(columnName, valueToMatch, tableName) == 1;
+    }
+
+    /**
+     * Delete rows where column = value, reusing the compiled delete statement of the same shape
+     *
+     * @param columnName   String column name
+     * @param valueToMatch String value to match
+     * @param tableName    name of table
+     * @return the number of rows deleted
+     */
+    private int deleteCached(String columnName, String valueToMatch, String tableName) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        String key = "D|" + tableName + "|" + columnName;
+        synchronized (statementLock) {
+            SQLiteStatement statement = statementCache.get(key);
+            if (statement == null) {
+                String sql = "DELETE FROM " + tableName + " WHERE " + columnName + " = ?";
+                if (queryPlanDiagnostics) checkQueryPlan(sql, new String[]{valueToMatch});
+                statement = writableDatabase.compileStatement(sql);
+                statementCache.put(key, statement);
+            }
+            if (valueToMatch == null) {
+                statement.bindNull(1);
+            } else {
+                statement.bindString(1, valueToMatch);
+            }
+            long start = startTimer();
+            int result = statement.executeUpdateDelete();
+            recordStatement("DELETE FROM " + tableName + " WHERE " + columnName + " = ?", new String[]{valueToMatch}, start, result, 0);
+            notifyTableChanged(tableName);
+            return result;
+        }
+    }
+
+    /**
+     * Delete data from table
+     *
+     * @param tableName name of table
+     * @param query     where clause, null to delete every row
+     * @param args      String array of bind arguments
+     * @return the number of rows deleted
+     */
+    public int deleteData(String tableName, String query, String args[]) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        long start = startTimer();
+        int result = writableDatabase.delete(tableName, query, args);
+        recordStatement("DELETE FROM " + tableName + (query == null ? "" : " WHERE " + query), args, start, result, 0);
+        notifyTableChanged(tableName);
+        return result;
+    }
+
+    /**
+     * Run raw query, cancellable through the signal on Android 4.1 and above
+     *
+     * @param sql    String SQL query
+     * @param args   String array of bind arguments
+     * @param signal CancellationSignal - may be null
+     * @return cursor
+     */
+    Cursor rawQuery(String sql, String args[], CancellationSignal signal) {
+        return rawQuery(sql, args, signal, 0);
+    }
+
+    /**
+     * Run raw query with a cursor window of the given size on Android 9 and above
+     * <p>
+     * The window is set before the cursor is filled, also when query metrics fill it right away.
+     *
+     * @param sql        String SQL query
+     * @param args       String array of bind arguments
+     * @param signal     CancellationSignal - may be null
+     * @param windowSize Long cursor window size in bytes, 0 or less for the default
+     * @return cursor
+     */
+    Cursor rawQuery(String sql, String args[], CancellationSignal signal, long windowSize) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        long start = startTimer();
+        Cursor cursor;
+        if (signal != null && Build.VERSION.SDK_INT >= 16) {
+            cursor = writableDatabase.rawQuery(sql, args, signal);
+        } else {
+            cursor = writableDatabase.rawQuery(sql, args);
+        }
+        if (windowSize > 0 && Build.VERSION.SDK_INT >= 28 && cursor instanceof SQLiteCursor) {
+            ((SQLiteCursor) cursor).setWindow(new CursorWindow(sql, windowSize));
+        }
+        if (start != 0) {
+            // The query only runs when the first cursor window is filled
+            long fillStart = System.nanoTime();
+            int rows = cursor.getCount();
+            recordStatement(sql, args, start, rows, System.nanoTime() - fillStart);
+        }
+        return cursor;
+    }
+
+    /**
+     * Build a query on the table with projection, where, group by, order by, limit and aggregates
+     * <p>
+     * Use:
+     * <p>
+     * Cursor cursor = liteClass.query("DEMO_TABLE").select("Name").where("Age &gt; ?", 18).limit(20).query();
+     *
+     * @param tableName name of table
+     * @return QueryBuilder
+     */
+    public QueryBuilder query(String tableName) {
+        return new QueryBuilder(this, tableName);
+    }
+
+    /**
+     * Iterate every row of the table in ID order, one chunk of rows per query, so huge tables
+     * can be read with bounded memory. Blob columns are read lazily in slices
+     * <p>
+     * Use:
+     * <p>
+     * ChunkedIterator rows = liteClass.iterateChunked(new String[]{"Name"}, new String[]{"Photo"}, 500, 0, "DEMO_TABLE");
+     *
+     * @param columnNames     String array of columns read with every row
+     * @param blobColumns     String array of blob columns read on demand - may be null
+     * @param chunkSize       Integer number of rows per query, 0 for the default
+     * @param windowSizeBytes Long cursor window size in bytes on Android 9 and above, 0 for the default
+     * @param tableName       name of table
+     * @return ChunkedIterator - must be closed
+     */
+    public ChunkedIterator iterateChunked(String columnNames[], String blobColumns[], int chunkSize, long windowSizeBytes, String tableName) {
+        return new ChunkedIterator(this, columnNames, blobColumns, chunkSize, windowSizeBytes, tableName.trim().replaceAll(" ", "_"));
+    }
+
+    /**
+     * Run raw query with arguments bound by their type instead of as strings, so numbers compare
+     * as numbers also against expressions such as COUNT(*)
+     *
+     * @param sql  String SQL query
+     * @param args Object array of bind arguments
+     * @return cursor
+     */
+    Cursor rawQueryTyped(String sql, final Object args[]) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        if (queryPlanDiagnostics) checkQueryPlan(sql, toStringArgs(args));
+        long start = startTimer();
+        Cursor cursor = writableDatabase.rawQueryWithFactory(new SQLiteDatabase.CursorFactory() {
+            @Override
+            public Cursor newCursor(SQLiteDatabase db, SQLiteCursorDriver driver, String editTable, SQLiteQuery query) {
+                for (int i = 0; i < args.length; i++) {
+                    bindValue(query, i + 1, args[i]);
+                }
+                return new SQLiteCursor(driver, editTable, query);
+            }
+        }, sql, null, null);
+        if (start != 0) {
+            long fillStart = System.nanoTime();
+            int rows = cursor.getCount();
+            recordStatement(sql, null, start, rows, System.nanoTime() - fillStart);
+        }
+        return cursor;
+    }
+
+    /**
+     * Run query for a single long value on a compiled statement from the statement cache
+     *
+     * @param sql  String SQL query
+     * @param args Object array of bind arguments
+     * @return Long value of the first column of the first row
+     */
+    long simpleQueryForLong(String sql, Object args[]) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        long start = startTimer();
+        long value;
+        synchronized (statementLock) {
+            value = getSimpleQueryStatement(sql, args).simpleQueryForLong();
+        }
+        recordStatement(sql, null, start, 1, 0);
+        return value;
+    }
+
+    /**
+     * Run query for a single String value on a compiled statement from the statement cache
+     *
+     * @param sql  String SQL query
+     * @param args Object array of bind arguments
+     * @return String value of the first column of the first row
+     */
+    String simpleQueryForString(String sql, Object args[]) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        long start = startTimer();
+        String value;
+        synchronized (statementLock) {
+            value = getSimpleQueryStatement(sql, args).simpleQueryForString();
+        }
+        recordStatement(sql, null, start, 1, 0);
+        return value;
+    }
+
+    /**
+     * Get compiled statement of the query from the statement cache and bind the arguments
+     * - caller must hold statementLock
+     *
+     * @param sql  String SQL query
+     * @param args Object array of bind arguments
+     * @return compiled SQLite statement
+     */
+    private SQLiteStatement getSimpleQueryStatement(String sql, Object args[]) {
+        String key = "S|" + sql;
+        SQLiteStatement statement = statementCache.get(key);
+        if (statement == null) {
+            if (queryPlanDiagnostics) checkQueryPlan(sql, toStringArgs(args));
+            statement = writableDatabase.compileStatement(sql);
+            statementCache.put(key, statement);
+        }
+        bindRow(statement, args);
+        return statement;
+    }
+
+    /**
+     * Convert bind arguments to strings for EXPLAIN QUERY PLAN, which only takes strings
+     *
+     * @param args Object array of bind arguments
+     * @return String array of arguments
+     */
+    private static String[] toStringArgs(Object args[]) {
+        String strings[] = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            strings[i] = args[i] == null ? "" : args[i] instanceof Boolean ? ((Boolean) args[i] ? "1" : "0") : args[i].toString();
+        }
+        return strings;
+    }
+
+    /**
+     * Run raw query
+     *
+     * @param sql  String SQL query
+     * @param args String array of bind arguments
+     * @return cursor
+     */
+    private Cursor rawQuery(String sql, String args[]) {
+        return rawQuery(sql, args, null);
+    }
+
+    /**
+     * Execute single SQL statement which returns no data
+     *
+     * @param db  SQLite database
+     * @param sql String SQL statement
+     */
+    private void execSQL(SQLiteDatabase db, String sql) {
+        long start = startTimer();
+        db.execSQL(sql);
+        recordStatement(sql, null, start, 0, 0);
+    }
+
+    /**
+     * Delete rows by their IDs in one transaction
+     *
+     * @param ids       Integer array of row IDs
+     * @param tableName name of table
+     * @return the number of rows deleted
+     */
+    public int deleteRows(int ids[], String tableName) {
+        Object values[] = new Object[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            values[i] = ids[i];
+        }
+        return executeInChunks(null, "ID", values, tableName);
+    }
+
+    /**
+     * Delete rows by their IDs in one transaction
+     *
+     * @param ids       Long array of row IDs
+     * @param tableName name of table
+     * @return the number of rows deleted
+     */
+    public int deleteRows(long ids[], String tableName) {
+        Object values[] = new Object[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            values[i] = ids[i];
+        }
+        return executeInChunks(null, "ID", values, tableName);
+    }
+
+    /**
+     * Delete every row whose column value is in the list, in one transaction
+     *
+     * @param columnName   String column name
+     * @param valuesToMatch List of values to match (String, Number, Boolean or byte[])
+     * @param tableName    name of table
+     * @return the number of rows deleted
+     */
+    public int deleteRows(String columnName, List<?> valuesToMatch, String tableName) {
+        return executeInChunks(null, columnName.replaceAll(" ", "_"), valuesToMatch.toArray(), tableName);
+    }
+
+    /**
+     * Update rows by their IDs with the same values in one transaction
+     *
+     * @param ids           Long array of row IDs
+     * @param contentValues content values to set
+     * @param tableName     name of table
+     * @return the number of rows updated
+     * @throws IllegalArgumentException if contentValues is empty or has {@value #MAX_BIND_ARGS} values or more
+     */
+    public int updateRows(long ids[], ContentValues contentValues, String tableName) {
+        Object values[] = new Object[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            values[i] = ids[i];
+        }
+        return executeInChunks(contentValues, "ID", values, tableName);
+    }
+
+    /**
+     * Update rows by their IDs with the same values in one transaction
+     *
+     * @param ids           Integer array of row IDs
+     * @param contentValues content values to set
+     * @param tableName     name of table
+     * @return the number of rows updated
+     * @throws IllegalArgumentException if contentValues is empty or has {@value #MAX_BIND_ARGS} values or more
+     */
+    public int updateRows(int ids[], ContentValues contentValues, String tableName) {
+        Object values[] = new Object[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            values[i] = ids[i];
+        }
+        return executeInChunks(contentValues, "ID", values, tableName);
+    }
+
+    /**
+     * Update every row whose column value is in the list with the same values, in one transaction
+     *
+     * @param columnName    String column name
+     * @param valuesToMatch List of values to match (String, Number, Boolean or byte[])
+     * @param contentValues content values to set
+     * @param tableName     name of table
+     * @return the number of rows updated
+     * @throws IllegalArgumentException if contentValues is empty or has {@value #MAX_BIND_ARGS} values or more
+     */
+    public int updateRows(String columnName, List<?> valuesToMatch, ContentValues contentValues, String tableName) {
+        return executeInChunks(contentValues, columnName.replaceAll(" ", "_"), valuesToMatch.toArray(), tableName);
+    }
+
+    /**
+     * Delete or update rows where column IN (...), splitting the values into chunks which fit
+     * the bind argument limit of SQLite. Every chunk runs in the same transaction and all
+     * full chunks share one compiled statement.
+     *
+     * @param contentValues content values to set, null to delete the rows
+     * @param columnName    String column name
+     * @param values        Object array of values to match
+     * @param tableName     name of table
+     * @return the number of rows affected
+     * @throws IllegalArgumentException if contentValues is empty or leaves no bind argument for the values
+     */
+    private int executeInChunks(ContentValues contentValues, String columnName, Object values[], String tableName) {
+        if (contentValues != null && contentValues.size() == 0) {
+            throw new IllegalArgumentException("No values to update in " + tableName);
+        }
+        if (contentValues != null && contentValues.size() >= MAX_BIND_ARGS) {
+            throw new IllegalArgumentException("Too many values to update in " + tableName + " - "
+                    + contentValues.size() + ", the limit is " + (MAX_BIND_ARGS - 1));
+        }
+        if (!initedDb || writableDatabase == null) initDatabase();
+        if (values.length == 0) return 0;
+
+        String set = "";
+        ArrayList<Object> setValues = new ArrayList<>();
+        if (contentValues != null) {
+            for (Map.Entry<String, Object> entry : contentValues.valueSet()) {
+                set += (setValues.isEmpty() ? "" : ", ") + entry.getKey() + " = ?";
+                setValues.add(entry.getValue());
+            }
+        }
+        if (contentValues != null) addToBloomFilters(contentValues, tableName);
+        String prefix = contentValues == null ? "DELETE FROM " + tableName
+                : "UPDATE " + tableName + " SET " + set;
+        int chunkSize = MAX_BIND_ARGS - setValues.size();
+
+        long start = startTimer();
+        int affected = 0;
+        SQLiteStatement fullChunk = null;
+        beginWriteTransaction();
+        try {
+            for (int offset = 0; offset < values.length; offset += chunkSize) {
+                int count = Math.min(chunkSize, values.length - offset);
+                SQLiteStatement statement;
+                if (count == chunkSize) {
+                    if (fullChunk == null) fullChunk = writableDatabase.compileStatement(buildInSQL(prefix, columnName, count));
+                    statement = fullChunk;
+                } else {
+                    statement = writableDatabase.compileStatement(buildInSQL(prefix, columnName, count));
+                }
+                try {
+                    statement.clearBindings();
+                    int index = 1;
+                    for (Object value : setValues) {
+                        bindValue(statement, index++, value);
+                    }
+                    for (int i = 0; i < count; i++) {
+                        bindValue(statement, index++, values[offset + i]);
+                    }
+                    affected += statement.executeUpdateDelete();
+                } finally {
+                    if (statement != fullChunk) statement.close();
+                }
+            }
+            setWriteTransactionSuccessful();
+        } finally {
+            endWriteTransaction();
+            if (fullChunk != null) fullChunk.close();
+            notifyTableChanged(tableName);
+        }
+        recordStatement(buildInSQL(prefix, columnName, 1), null, start, affected, 0);
+        return affected;
+    }
+
+    /**
+     * Build statement with "column IN (?, ?, ...)" where clause
+     *
+     * @param prefix     String statement before the where clause
+     * @param columnName String column name
+     * @param count      Integer number of bind arguments
+     * @return String SQL
+     */
+    private static String buildInSQL(String prefix, String columnName, int count) {
+        StringBuilder sql = new StringBuilder(prefix).append(" WHERE ").append(columnName).append(" IN (");
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(")").toString();
+    }
+
+    /**
+     * Delete all data from table
+     *
+     * @param tableName name of table
+     */
+    public void deleteAllDataFromTable(String tableName) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        execSQL(db, "delete from " + tableName);
+        notifyTableChanged(tableName);
+        buildBloomFilters(tableName);
+    }
+
+
+    /**
+     * Delete every table data
+     */
+    public void deleteAllTableData() {
+        SQLiteDatabase db = this.getWritableDatabase();
+        if (tables != null && tables.size() > 0) {
+            Iterator<String> i = tables.iterator();
+            while (i.hasNext()) {
+                String tableName = i.next();
+                execSQL(db, "delete from " + tableName);
+                notifyTableChanged(tableName);
+                buildBloomFilters(tableName);
+            }
+        }
+    }
+
+
+    /**
+     * Export every row of the table to a file, one line per row
+     * <p>
+     * Rows are read in batches ordered by ID, so memory use is bounded by the batch size
+     * whatever the size of the table.
+     * <p>
+     * Use:
+     * <p>
+     * TransferStats stats = liteClass.exportTable(new File(getFilesDir(), "demo.csv"), ExportFormat.CSV, 1000, null, "DEMO_TABLE");
+     *
+     * @param file      File to write - replaced if it exists
+     * @param format    ExportFormat - CSV or JSON_LINES
+     * @param batchSize Integer number of rows read per query, 0 or less for the default
+     * @param progress  OnTransferProgress called after every batch, may be null
+     * @param tableName name of table
+     * @return TransferStats or null if the file could not be written
+     */
+    public TransferStats exportTable(File file, ExportFormat format, int batchSize, OnTransferProgress progress, String tableName) {
+        FileOutputStream outputStream = null;
+        try {
+            outputStream = new FileOutputStream(file);
+            CountingOutputStream counter = new CountingOutputStream(Channels.newOutputStream(outputStream.getChannel()));
+            Writer writer = new BufferedWriter(new OutputStreamWriter(counter, "UTF-8"), TRANSFER_BUFFER_SIZE);
+            TransferStats stats = exportTable(writer, counter, format, batchSize, progress, tableName);
+            writer.close();
+            return stats;
+        } catch (IOException e) {
+            LogHelper.w(TAG, "exportTable: " + e.getMessage());
+            return null;
+        } finally {
+            closeQuietly(outputStream);
+        }
+    }
+
+    /**
+     * Export every row of the table to the stream, one line per row - the stream is flushed but not closed
+     *
+     * @param outputStream OutputStream to write
+     * @param format       ExportFormat - CSV or JSON_LINES
+     * @param batchSize    Integer number of rows read per query, 0 or less for the default
+     * @param progress     OnTransferProgress called after every batch, may be null
      * @param tableName    name of table
-     * @return cursor
+     * @return TransferStats or null if the stream could not be written
      */
-    public Cursor getAllDataOrderedBy(int columnNumber, boolean ascending, String tableName) {
-        String postfix = ascending ? "" : " DESC ";
-        String colNam = columnNumber == 0 ? " ID " : columns.get(columnNumber - 1).columnName;
+    public TransferStats exportTable(OutputStream outputStream, ExportFormat format, int batchSize, OnTransferProgress progress, String tableName) {
+        try {
+            CountingOutputStream counter = new CountingOutputStream(outputStream);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(counter, "UTF-8"), TRANSFER_BUFFER_SIZE);
+            TransferStats stats = exportTable(writer, counter, format, batchSize, progress, tableName);
+            writer.flush();
+            return stats;
+        } catch (IOException e) {
+            LogHelper.w(TAG, "exportTable: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Import rows from a file written by exportTable, committing after every batch
+     * <p>
+     * Rows keep the IDs they were exported with. Rows rejected by a constraint (for example an
+     * ID which is already in the table) are skipped and counted in TransferStats.skippedRows.
+     *
+     * @param file      File to read
+     * @param format    ExportFormat - CSV or JSON_LINES
+     * @param batchSize Integer number of rows per transaction, 0 or less for the default
+     * @param progress  OnTransferProgress called after every committed batch, may be null
+     * @param tableName name of table
+     * @return TransferStats or null if the file could not be read - batches committed before the error are kept
+     */
+    public TransferStats importTable(File file, ExportFormat format, int batchSize, OnTransferProgress progress, String tableName) {
+        FileInputStream inputStream = null;
+        try {
+            inputStream = new FileInputStream(file);
+            return importTable(Channels.newInputStream(inputStream.getChannel()), format, batchSize, progress, tableName);
+        } catch (IOException e) {
+            LogHelper.w(TAG, "importTable: " + e.getMessage());
+            return null;
+        } finally {
+            closeQuietly(inputStream);
+        }
+    }
+
+    /**
+     * Import rows from a stream written by exportTable, committing after every batch - the stream is not closed
+     * <p>
+     * Rows keep the IDs they were exported with. Rows rejected by a constraint (for example an
+     * ID which is already in the table) are skipped and counted in TransferStats.skippedRows.
+     *
+     * @param inputStream InputStream to read
+     * @param format      ExportFormat - CSV or JSON_LINES
+     * @param batchSize   Integer number of rows per transaction, 0 or less for the default
+     * @param progress    OnTransferProgress called after every committed batch, may be null
+     * @param tableName   name of table
+     * @return TransferStats or null if the stream could not be read - batches committed before the error are kept
+     */
+    public TransferStats importTable(InputStream inputStream, ExportFormat format, int batchSize, OnTransferProgress progress, String tableName) {
         if (!initedDb || writableDatabase == null) initDatabase();
-        Cursor res = writableDatabase.rawQuery("select * from " + tableName + " ORDER BY " + colNam + postfix, null);
-        return res;
+        int batch = batchSize > 0 ? batchSize : DEFAULT_TRANSFER_BATCH_SIZE;
+        long start = System.nanoTime();
+        long rows = 0, skipped = 0;
+        CountingInputStream counter = new CountingInputStream(inputStream);
+        HashMap<String, SQLiteStatement> statements = new HashMap<>();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(counter, "UTF-8"), TRANSFER_BUFFER_SIZE);
+            String columnNames[] = null;
+            ArrayList<Object> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            int pending = 0;
+
+            beginWriteTransaction();
+            try {
+                while (true) {
+                    // Read the next row as column names and values
+                    String rowColumns[];
+                    Object row[];
+                    if (format == ExportFormat.CSV) {
+                        if (!readCsvRecord(reader, fields, field)) break;
+                        if (columnNames == null) {
+                            columnNames = new String[fields.size()];
+                            for (int i = 0; i < columnNames.length; i++) {
+                                columnNames[i] = String.valueOf(fields.get(i));
+                            }
+                            continue;
+                        }
+                        if (fields.size() == 1 && fields.get(0) == null) continue;
+                        if (fields.size() != columnNames.length) {
+                            LogHelper.w(TAG, "importTable: skipped row with " + fields.size() + " values");
+                            skipped++;
+                            continue;
+                        }
+                        rowColumns = columnNames;
+                        row = fields.toArray();
+                    } else {
+                        String line = reader.readLine();
+                        if (line == null) break;
+                        if (line.trim().length() == 0) continue;
+                        JSONObject object = new JSONObject(line);
+                        rowColumns = new String[object.length()];
+                        row = new Object[rowColumns.length];
+                        Iterator<String> keys = object.keys();
+                        for (int i = 0; keys.hasNext(); i++) {
+                            rowColumns[i] = keys.next();
+                            row[i] = fromJsonValue(object.opt(rowColumns[i]));
+                        }
+                    }
+
+                    // One compiled insert statement per set of columns
+                    String key = TextUtils.join(",", rowColumns);
+                    SQLiteStatement statement = statements.get(key);
+                    if (statement == null) {
+                        statement = writableDatabase.compileStatement(buildInsertSQL(rowColumns, tableName));
+                        statements.put(key, statement);
+                    }
+                    bindRow(statement, row);
+                    try {
+                        if (statement.executeInsert() != -1) {
+                            rows++;
+                        } else {
+                            skipped++;
+                        }
+                    } catch (SQLException e) {
+                        skipped++;
+                    }
+                    BloomFilter filters[][] = getBloomFilters(rowColumns, tableName);
+                    if (filters != null) addToBloomFilters(filters, row);
+
+                    if (++pending == batch) {
+                        setWriteTransactionSuccessful();
+                        endWriteTransaction();
+                        pending = 0;
+                        if (progress != null) progress.onTransferProgress(rows, counter.count);
+                        beginWriteTransaction();
+                    }
+                }
+                setWriteTransactionSuccessful();
+            } finally {
+                endWriteTransaction();
+                notifyTableChanged(tableName);
+            }
+            if (progress != null && pending > 0) progress.onTransferProgress(rows, counter.count);
+        } catch (IOException | JSONException e) {
+            LogHelper.w(TAG, "importTable: " + e.getMessage());
+            return null;
+        } finally {
+            for (SQLiteStatement statement : statements.values()) {
+                statement.close();
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1000000;
+        return new TransferStats(rows, skipped, counter.count, millis);
+    }
+
+    /**
+     * Write every row of the table to the writer in batches ordered by ID
+     *
+     * @param writer    Writer to write the lines
+     * @param counter   CountingOutputStream under the writer - counts written bytes
+     * @param format    ExportFormat - CSV or JSON_LINES
+     * @param batchSize Integer number of rows read per query, 0 or less for the default
+     * @param progress  OnTransferProgress called after every batch, may be null
+     * @param tableName name of table
+     * @return TransferStats
+     * @throws IOException if the writer fails
+     */
+    private TransferStats exportTable(Writer writer, CountingOutputStream counter, ExportFormat format, int batchSize,
+                                      OnTransferProgress progress, String tableName) throws IOException {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        String limit = String.valueOf(batchSize > 0 ? batchSize : DEFAULT_TRANSFER_BATCH_SIZE);
+        String sql = "SELECT * FROM " + tableName + " WHERE ID > ? ORDER BY ID LIMIT ?";
+        long start = System.nanoTime();
+        long rows = 0, lastId = Long.MIN_VALUE;
+        String columnNames[] = null;
+        int idIndex = 0, count;
+
+        do {
+            count = 0;
+            Cursor cursor = rawQuery(sql, new String[]{String.valueOf(lastId), limit});
+            try {
+                if (columnNames == null) {
+                    columnNames = cursor.getColumnNames();
+                    idIndex = cursor.getColumnIndexOrThrow("ID");
+                    if (format == ExportFormat.CSV) {
+                        for (int i = 0; i < columnNames.length; i++) {
+                            if (i > 0) writer.write(',');
+                            writeCsvText(writer, columnNames[i]);
+                        }
+                        writer.write('\n');
+                    }
+                }
+                while (cursor.moveToNext()) {
+                    if (format == ExportFormat.CSV) {
+                        writeCsvRow(writer, cursor);
+                    } else {
+                        writeJsonRow(writer, cursor, columnNames);
+                    }
+                    lastId = cursor.getLong(idIndex);
+                    count++;
+                }
+            } finally {
+                cursor.close();
+            }
+            rows += count;
+            writer.flush();
+            if (progress != null && count > 0) progress.onTransferProgress(rows, counter.count);
+        } while (count == Integer.parseInt(limit));
+
+        long millis = (System.nanoTime() - start) / 1000000;
+        return new TransferStats(rows, 0, counter.count, millis);
+    }
+
+    /**
+     * Write current row of the cursor as one CSV line
+     *
+     * @param writer Writer
+     * @param cursor cursor positioned on the row
+     * @throws IOException if the writer fails
+     */
+    private static void writeCsvRow(Writer writer, Cursor cursor) throws IOException {
+        for (int i = 0; i < cursor.getColumnCount(); i++) {
+            if (i > 0) writer.write(',');
+            switch (cursor.getType(i)) {
+                case Cursor.FIELD_TYPE_NULL:
+                    break;
+                case Cursor.FIELD_TYPE_INTEGER:
+                    writer.write(Long.toString(cursor.getLong(i)));
+                    break;
+                case Cursor.FIELD_TYPE_FLOAT:
+                    writer.write(Double.toString(cursor.getDouble(i)));
+                    break;
+                case Cursor.FIELD_TYPE_BLOB:
+                    byte blob[] = cursor.getBlob(i);
+                    writer.write("X'");
+                    for (byte value : blob) {
+                        writer.write(HEX_DIGITS[(value >> 4) & 0xF]);
+                        writer.write(HEX_DIGITS[value & 0xF]);
+                    }
+                    writer.write('\'');
+                    break;
+                default:
+                    writeCsvText(writer, cursor.getString(i));
+                    break;
+            }
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Write quoted CSV text - quotes inside the text are doubled
+     *
+     * @param writer Writer
+     * @param text   String text
+     * @throws IOException if the writer fails
+     */
+    private static void writeCsvText(Writer writer, String text) throws IOException {
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Write current row of the cursor as one JSON line
+     *
+     * @param writer      Writer
+     * @param cursor      cursor positioned on the row
+     * @param columnNames String array of column names of the cursor
+     * @throws IOException if the writer fails
+     */
+    private static void writeJsonRow(Writer writer, Cursor cursor, String columnNames[]) throws IOException {
+        writer.write('{');
+        for (int i = 0; i < columnNames.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write(JSONObject.quote(columnNames[i]));
+            writer.write(':');
+            switch (cursor.getType(i)) {
+                case Cursor.FIELD_TYPE_NULL:
+                    writer.write("null");
+                    break;
+                case Cursor.FIELD_TYPE_INTEGER:
+                    writer.write(Long.toString(cursor.getLong(i)));
+                    break;
+                case Cursor.FIELD_TYPE_FLOAT:
+                    double number = cursor.getDouble(i);
+                    writer.write(Double.isNaN(number) || Double.isInfinite(number) ? "null" : Double.toString(number));
+                    break;
+                case Cursor.FIELD_TYPE_BLOB:
+                    writer.write("{\"blob\":\"");
+                    writer.write(Base64.encodeToString(cursor.getBlob(i), Base64.NO_WRAP));
+                    writer.write("\"}");
+                    break;
+                default:
+                    writer.write(JSONObject.quote(cursor.getString(i)));
+                    break;
+            }
+        }
+        writer.write("}\n");
+    }
+
+    /**
+     * Read one CSV record - quoted fields may contain commas, doubled quotes and line breaks
+     *
+     * @param reader Reader
+     * @param fields ArrayList filled with the values of the record
+     * @param field  StringBuilder reused for every field
+     * @return boolean - false at the end of the input
+     * @throws IOException if the reader fails or a quoted field is not terminated
+     */
+    private static boolean readCsvRecord(Reader reader, ArrayList<Object> fields, StringBuilder field) throws IOException {
+        fields.clear();
+        field.setLength(0);
+        boolean quoted = false, inQuotes = false;
+        int c = reader.read();
+        if (c == -1) return false;
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) throw new IOException("Unterminated quoted CSV field");
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        inQuotes = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && !quoted && field.length() == 0) {
+                quoted = inQuotes = true;
+            } else if (c == ',' || c == '\n' || c == -1) {
+                fields.add(fromCsvValue(field.toString(), quoted));
+                field.setLength(0);
+                quoted = false;
+                if (c != ',') return true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * Convert CSV field to the value to bind - quoted fields are text, empty unquoted fields are
+     * null, X'hex' fields are blobs and other unquoted fields are numbers
+     *
+     * @param text   String field without quotes
+     * @param quoted boolean - true if the field was quoted
+     * @return Long, Double, String, byte[] or null
+     */
+    private static Object fromCsvValue(String text, boolean quoted) {
+        if (quoted) return text;
+        if (text.length() == 0) return null;
+        if (text.length() >= 3 && (text.charAt(0) == 'X' || text.charAt(0) == 'x') && text.charAt(1) == '\'' && text.endsWith("'")) {
+            byte blob[] = new byte[(text.length() - 3) / 2];
+            for (int i = 0; i < blob.length; i++) {
+                blob[i] = (byte) Integer.parseInt(text.substring(2 + i * 2, 4 + i * 2), 16);
+            }
+            return blob;
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException notNumber) {
+                return text;
+            }
+        }
+    }
+
+    /**
+     * Convert JSON value to the value to bind - {"blob": "base64"} objects are blobs
+     *
+     * @param value value of the JSON object
+     * @return Number, Boolean, String, byte[] or null
+     */
+    private static Object fromJsonValue(Object value) {
+        if (value == null || value == JSONObject.NULL) return null;
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            if (object.has("blob")) return Base64.decode(object.optString("blob"), Base64.NO_WRAP);
+        }
+        return value instanceof Number || value instanceof Boolean ? value : value.toString();
+    }
+
+    /**
+     * Close stream and ignore errors
+     *
+     * @param closeable stream to close, may be null
+     */
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Output stream which counts written bytes
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte b[], int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * Input stream which counts read bytes
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte b[], int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) count += read;
+            return read;
+        }
+    }
+
+    /**
+     * Get configuration the database was initialized with
+     *
+     * @return DatabaseConfiguration
+     */
+    public DatabaseConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Checkpoint the write-ahead log into the database file
+     * <p>
+     * Only has an effect when write-ahead logging is enabled
+     *
+     * @param mode CheckpointMode - PASSIVE, FULL, RESTART or TRUNCATE
+     * @return int[] - {busy, frames in log, frames checkpointed}, busy is 1 if the checkpoint could not complete
+     */
+    public int[] checkpoint(CheckpointMode mode) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        int result[] = new int[]{0, -1, -1};
+        Cursor cursor = rawQuery("PRAGMA wal_checkpoint(" + mode.getPragmaName() + ")", null);
+        try {
+            if (cursor.moveToFirst()) {
+                for (int i = 0; i < result.length && i < cursor.getColumnCount(); i++) {
+                    result[i] = cursor.getInt(i);
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+        return result;
+    }
+
+    /**
+     * Write a consistent copy of the database to a single file
+     * <p>
+     * On Android 11 (API 30) and above the copy is written with VACUUM INTO, which reads one
+     * snapshot of the database and does not block writers. Below that the write-ahead log is
+     * checkpointed and the database file is copied inside an exclusive transaction: writers
+     * wait, and without write-ahead logging readers wait as well.
+     * The file is written next to the destination and renamed when complete, so the destination
+     * is never left half written. Must not be called inside a transaction.
+     * <p>
+     * Use:
+     * <p>
+     * liteClass.snapshot(new File(getCacheDir(), "TESTDB-fixture.db"));
+     *
+     * @param destination File to write - replaced if it exists
+     * @return boolean - returns true if the snapshot is written
+     */
+    public boolean snapshot(File destination) {
+        if (!initedDb || writableDatabase == null) initDatabase();
+        File temp = new File(destination.getPath() + ".tmp");
+        deleteDatabaseFiles(temp);
+        long start = startTimer();
+        try {
+            if (Build.VERSION.SDK_INT >= 30) {
+                // VACUUM INTO needs SQLite 3.27, shipped from Android 11
+                writableDatabase.execSQL("VACUUM INTO ?", new Object[]{temp.getPath()});
+                recordStatement("VACUUM INTO ?", null, start, 0, 0);
+            } else {
+                copyDatabaseFile(temp);
+            }
+            if (destination.exists() && !destination.delete()) {
+                throw new IOException("Can not replace " + destination);
+            }
+            if (!temp.renameTo(destination)) {
+                throw new IOException("Can not rename " + temp + " to " + destination);
+            }
+            return true;
+        } catch (IOException | SQLException e) {
+            LogHelper.w(TAG, "snapshot: " + e.getMessage());
+            deleteDatabaseFiles(temp);
+            return false;
+        }
+    }
+
+    /**
+     * Replace the database with a snapshot written by snapshot
+     * <p>
+     * The snapshot is checked to be an SQLite database and copied next to the database file
+     * first, then the helper is closed and the copy is renamed over the database file in one
+     * step. The database is opened again, so migrations run if the snapshot has an older version.
+     * Cached statements, results and Bloom filters are reset.
+     *
+     * @param source File written by snapshot
+     * @return boolean - returns true if the database is restored
+     */
+    public boolean restore(File source) {
+        if (context == null) return false;
+        File database = context.getDatabasePath(DATABASE_NAME);
+        File temp = new File(database.getPath() + ".restore");
+        try {
+            if (!isDatabaseFile(source)) {
+                LogHelper.w(TAG, "restore: " + source + " is not an SQLite database");
+                return false;
+            }
+            copyFile(source, temp);
+        } catch (IOException e) {
+            LogHelper.w(TAG, "restore: " + e.getMessage());
+            deleteDatabaseFiles(temp);
+            return false;
+        }
+
+        // Outside the lock, running async operations may need it to finish
+        close();
+        synchronized (this) {
+            // Another thread may have opened the database again meanwhile
+            if (initedDb) closeDatabase();
+            clearResultCache();
+            new File(database.getPath() + "-wal").delete();
+            new File(database.getPath() + "-shm").delete();
+            new File(database.getPath() + "-journal").delete();
+            if (!temp.renameTo(database)) {
+                LogHelper.w(TAG, "restore: can not rename " + temp + " to " + database);
+                deleteDatabaseFiles(temp);
+                return false;
+            }
+            initDatabase();
+        }
+        for (QueryObserver observer : observers) {
+            observer.onTableChanged();
+        }
+        return true;
+    }
+
+    /**
+     * Copy the database file while no other writer can commit - in rollback journal mode the
+     * exclusive transaction blocks readers too. The write-ahead log is checkpointed first, and
+     * if a commit still lands in the log before the copy starts, the log is copied too and
+     * merged into the copy
+     *
+     * @param destination File to write
+     * @throws IOException if the copy fails
+     */
+    private void copyDatabaseFile(File destination) throws IOException {
+        File database = new File(writableDatabase.getPath());
+        File wal = new File(database.getPath() + "-wal");
+        if (configuration.isWriteAheadLogging()) checkpoint(CheckpointMode.TRUNCATE);
+
+        boolean copiedLog;
+        beginWriteTransaction();
+        try {
+            copyFile(database, destination);
+            copiedLog = wal.length() > 0;
+            if (copiedLog) copyFile(wal, new File(destination.getPath() + "-wal"));
+        } finally {
+            endWriteTransaction();
+        }
+
+        if (copiedLog) {
+            // Opening the copy recovers the log, switching to a rollback journal merges it into the file
+            SQLiteDatabase copy = SQLiteDatabase.openDatabase(destination.getPath(), null, SQLiteDatabase.OPEN_READWRITE);
+            try {
+                Cursor cursor = copy.rawQuery("PRAGMA journal_mode = DELETE", null);
+                cursor.moveToFirst();
+                cursor.close();
+            } finally {
+                copy.close();
+            }
+            new File(destination.getPath() + "-wal").delete();
+            new File(destination.getPath() + "-shm").delete();
+        }
+    }
+
+    /**
+     * Copy file and flush it to the storage
+     *
+     * @param source      File to read
+     * @param destination File to write - replaced if it exists
+     * @throws IOException if the copy fails
+     */
+    private static void copyFile(File source, File destination) throws IOException {
+        FileInputStream inputStream = new FileInputStream(source);
+        FileOutputStream outputStream = null;
+        try {
+            outputStream = new FileOutputStream(destination);
+            FileChannel in = inputStream.getChannel(), out = outputStream.getChannel();
+            long size = in.size(), position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+            out.force(true);
+        } finally {
+            closeQuietly(inputStream);
+            closeQuietly(outputStream);
+        }
+    }
+
+    /**
+     * Check that the file starts with the SQLite database header
+     *
+     * @param file File to check
+     * @return boolean - returns true if the file is an SQLite database
+     * @throws IOException if the file can not be read
+     */
+    private static boolean isDatabaseFile(File file) throws IOException {
+        byte header[] = new byte[SQLITE_HEADER.length];
+        FileInputStream inputStream = new FileInputStream(file);
+        try {
+            int read = 0;
+            while (read < header.length) {
+                int count = inputStream.read(header, read, header.length - read);
+                if (count == -1) return false;
+                read += count;
+            }
+        } finally {
+            closeQuietly(inputStream);
+        }
+        return Arrays.equals(header, SQLITE_HEADER);
+    }
+
+    /**
+     * Delete database file together with its journal, log and shared memory files
+     *
+     * @param file database File
+     */
+    private static void deleteDatabaseFiles(File file) {
+        file.delete();
+        new File(file.getPath() + "-journal").delete();
+        new File(file.getPath() + "-wal").delete();
+        new File(file.getPath() + "-shm").delete();
+    }
+
+    /**
+     * Enable or disable query plan diagnostics
+     * <p>
+     * When enabled, every statement shape issued by the helper is checked once with
+     * EXPLAIN QUERY PLAN, and each full table scan or temporary sort is logged and kept
+     * as a warning - add an index on the reported column to avoid it.
+     * Keep it disabled in release builds.
+     *
+     * @param enabled boolean - true to enable diagnostics
+     * @return SQLiteDBHelper
+     */
+    public SQLiteDBHelper setQueryPlanDiagnostics(boolean enabled) {
+        queryPlanDiagnostics = enabled;
+        return this;
+    }
+
+    /**
+     * Get statements found by query plan diagnostics that would benefit from an index
+     *
+     * @return ArrayList of warnings - "statement -&gt; query plan detail"
+     */
+    public ArrayList<String> getQueryPlanWarnings() {
+        synchronized (queryPlanWarnings) {
+            return new ArrayList<>(queryPlanWarnings);
+        }
+    }
+
+    /**
+     * Run EXPLAIN QUERY PLAN once per statement and report scans without index
+     *
+     * @param sql  String SQL statement
+     * @param args String array of bind arguments
+     */
+    private void checkQueryPlan(String sql, String args[]) {
+        synchronized (queryPlanWarnings) {
+            if (!explainedSQL.add(sql)) return;
+        }
+        for (String detail : explainQueryPlan(sql, args)) {
+            if ((detail.startsWith("SCAN") && !detail.startsWith("SCAN CONSTANT ROW")
+                    && !detail.contains(" INDEX ") && !detail.contains("PRIMARY KEY"))
+                    || detail.startsWith("USE TEMP B-TREE")) {
+                String warning = sql + " -> " + detail;
+                LogHelper.w(TAG, "Query plan: " + warning);
+                synchronized (queryPlanWarnings) {
+                    queryPlanWarnings.add(warning);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get EXPLAIN QUERY PLAN details of the statement
+     *
+     * @param sql  String SQL statement
+     * @param args String array of bind arguments
+     * @return ArrayList of plan details, empty if the statement can not be explained
+     */
+    private ArrayList<String> explainQueryPlan(String sql, String args[]) {
+        ArrayList<String> details = new ArrayList<>();
+        Cursor plan = null;
+        try {
+            plan = writableDatabase.rawQuery("EXPLAIN QUERY PLAN " + sql, args);
+            int detailIndex = plan.getColumnIndex("detail");
+            while (plan.moveToNext()) {
+                details.add(plan.getString(detailIndex));
+            }
+        } catch (SQLException e) {
+            LogHelper.w(TAG, "explainQueryPlan: " + e.getMessage());
+        } finally {
+            if (plan != null) plan.close();
+        }
+        return details;
+    }
+
+    /**
+     * Enable query metrics - every statement issued by the helper records its latency, rows
+     * touched and cursor fill time per statement shape, and statements slower than the
+     * threshold are logged and kept in the snapshot with their query plan
+     * <p>
+     * While metrics are enabled, cursors returned by the query methods are filled before they are returned
+     *
+     * @param slowQueryThresholdMs Long threshold in milliseconds, 0 or less to disable the slow query log
+     * @return SQLiteDBHelper
+     */
+    public SQLiteDBHelper enableQueryMetrics(long slowQueryThresholdMs) {
+        this.slowQueryThresholdMs = slowQueryThresholdMs;
+        if (queryMetrics == null) queryMetrics = new QueryMetrics();
+        return this;
+    }
+
+    /**
+     * Disable query metrics and drop the recorded metrics
+     */
+    public void disableQueryMetrics() {
+        queryMetrics = null;
+    }
+
+    /**
+     * Get snapshot of the query metrics - see QueryMetrics.snapshot()
+     *
+     * @return JSONObject snapshot, null if metrics are disabled
+     */
+    public JSONObject getQueryMetricsSnapshot() {
+        QueryMetrics metrics = queryMetrics;
+        return metrics == null ? null : metrics.snapshot();
+    }
+
+    /**
+     * Remove the recorded query metrics
+     */
+    public void resetQueryMetrics() {
+        QueryMetrics metrics = queryMetrics;
+        if (metrics != null) metrics.reset();
+    }
+
+    /**
+     * Get start time of a statement for the query metrics
+     *
+     * @return Long nano time, 0 if metrics are disabled
+     */
+    private long startTimer() {
+        return queryMetrics == null ? 0 : System.nanoTime();
     }
 
     /**
-     * Get one row from the table by row ID
+     * Record statement in the query metrics and log it if it is slow
      *
-     * @param rowID     Integer row ID for get any row from table
-     * @param tableName name of table
-     * @return cursor
+     * @param sql       String statement shape
+     * @param args      String array of bind arguments - used to explain slow statements
+     * @param start     Long start time from startTimer
+     * @param rows      Long rows returned or changed
+     * @param fillNanos Long cursor fill time in nanoseconds
      */
-    public Cursor getOneRowData(int rowID, String tableName) {
-        if (!initedDb || writableDatabase == null) initDatabase();
-        String allColNames[] = new String[columns.size() + 1];
-        allColNames[0] = "ID";
-        for (int i = 0; i < columns.size(); i++) {
-            allColNames[i + 1] = columns.get(i).columnName;
+    private void recordStatement(String sql, String args[], long start, long rows, long fillNanos) {
+        QueryMetrics metrics = queryMetrics;
+        if (metrics == null || start == 0) return;
+        long nanos = System.nanoTime() - start;
+        metrics.record(sql, nanos, rows, fillNanos);
+
+        if (slowQueryThresholdMs > 0 && nanos / 1000000 >= slowQueryThresholdMs) {
+            String plan = "";
+            String verb = sql.trim().toUpperCase();
+            if (verb.startsWith("SELECT") || (verb.startsWith("DELETE") && (args != null || !verb.contains("?")))) {
+                for (String detail : explainQueryPlan(sql, args)) {
+                    plan += " | " + detail;
+                }
+            }
+            metrics.recordSlow(sql, nanos, rows, plan);
+            LogHelper.w(TAG, "Slow statement (" + nanos / 1000000 + " ms, " + rows + " rows): " + sql + plan);
         }
-        Cursor cursor = writableDatabase.query(tableName,
-                allColNames, allColNames[0].toString() + "=?",
-                new String[]{String.valueOf(rowID)},
-                null, null, null, "1");
+    }
 
-        if (cursor.getCount() > 0) {
-            return cursor;
-        } else {
-            return null;
+    /**
+     * Enable in-memory cache of getAllData and getOneRowData results, limited by number of results
+     * <p>
+     * Meant for small tables which are read over and over - only tables enabled with
+     * {@link #setResultCached(String, boolean)} are cached. Every write done through the helper
+     * removes the cached results of the written table. Results with more than maxRows rows are
+     * not cached; copying stops as soon as a result exceeds it.
+     *
+     * @param maxEntries Integer maximum number of cached results
+     * @param maxRows    Integer maximum number of rows of one cached result
+     * @return SQLiteDBHelper
+     */
+    public SQLiteDBHelper enableResultCache(int maxEntries, int maxRows) {
+        synchronized (resultLock) {
+            resultCache = new LruCache<>(maxEntries);
+            resultMaxRows = maxRows;
+            resultMaxBytes = Long.MAX_VALUE;
+            oversizedResults.clear();
         }
+        return this;
     }
 
     /**
-     * Get data from the table by column number and string value
+     * Enable in-memory cache of getAllData and getOneRowData results, limited by number of results
+     * and by {@value #DEFAULT_RESULT_MAX_ROWS} rows per result
      *
-     * @param columnNumber Integer column number
-     * @param value        String value for give a condition to get data
-     * @param tableName    name of table
-     * @return cursor
+     * @param maxEntries Integer maximum number of cached results
+     * @return SQLiteDBHelper
+     * @see #enableResultCache(int, int)
      */
-    public Cursor getOneRowData(int columnNumber, String value, String tableName) {
-        if (!initedDb || writableDatabase == null) initDatabase();
-        String allColNames[] = new String[columns.size() + 1];
-        allColNames[0] = "ID";
-        for (int i = 0; i < columns.size(); i++) {
-            allColNames[i + 1] = columns.get(i).columnName;
+    public SQLiteDBHelper enableResultCache(int maxEntries) {
+        return enableResultCache(maxEntries, DEFAULT_RESULT_MAX_ROWS);
+    }
+
+    /**
+     * Enable in-memory cache of getAllData and getOneRowData results, limited by estimated memory
+     * <p>
+     * Meant for small tables which are read over and over - only tables enabled with
+     * {@link #setResultCached(String, boolean)} are cached. Every write done through the helper
+     * removes the cached results of the written table. Results bigger than maxBytes are not
+     * cached; copying stops as soon as a result exceeds it.
+     *
+     * @param maxBytes Integer maximum size of cached results in bytes
+     * @return SQLiteDBHelper
+     */
+    public SQLiteDBHelper enableResultCacheBytes(int maxBytes) {
+        synchronized (resultLock) {
+            resultCache = new LruCache<String, CachedResult>(maxBytes) {
+                @Override
+                protected int sizeOf(String key, CachedResult value) {
+                    return value.getByteSize();
+                }
+            };
+            resultMaxRows = Integer.MAX_VALUE;
+            resultMaxBytes = maxBytes;
+            oversizedResults.clear();
         }
-        Cursor cursor = writableDatabase.query(tableName,
-                allColNames, allColNames[columnNumber].toString() + "=?",
-                new String[]{value},
-                null, null, null, "1");
+        return this;
+    }
 
-        if (cursor.getCount() > 0) {
-            return cursor;
-        } else {
-            return null;
+    /**
+     * Cache the results of the table - the result cache must be enabled as well
+     *
+     * @param tableName name of table
+     * @param cached    boolean - true to cache results of the table
+     * @return SQLiteDBHelper
+     */
+    public SQLiteDBHelper setResultCached(String tableName, boolean cached) {
+        synchronized (resultLock) {
+            if (cached) {
+                resultCachedTables.add(getResultTableKey(tableName));
+            } else if (resultCachedTables.remove(getResultTableKey(tableName)) && resultCache != null) {
+                removeCachedResults(tableName);
+            }
         }
+        return this;
     }
 
+    /**
+     * Get table name used by the result cache - keys, opt-in and generations must not depend on
+     * how the caller spelled the table name
+     *
+     * @param tableName name of table
+     * @return String trimmed upper case table name
+     */
+    private static String getResultTableKey(String tableName) {
+        return tableName.trim().toUpperCase(Locale.US);
+    }
 
     /**
-     * Get data from the table by column name and string value
+     * Check the results of the table are cached - never inside a write transaction
      *
-     * @param columnName String column name
-     * @param value      String value for give a condition to get data
-     * @param tableName  name of table
-     * @return cursor
+     * @param tableName name of table
+     * @return boolean - true if the result cache is enabled for the table
      */
-    public Cursor getOneRowData(String columnName, String value, String tableName) {
-        if (!initedDb || writableDatabase == null) initDatabase();
-        String allColNames[] = new String[columns.size() + 1];
-        allColNames[0] = "ID";
-        for (int i = 0; i < columns.size(); i++) {
-            allColNames[i + 1] = columns.get(i).columnName;
+    private boolean isResultCached(String tableName) {
+        // Inside a write transaction the thread reads its own uncommitted rows, which must not be cached
+        if (resultCache == null || isInWriteTransaction()) return false;
+        synchronized (resultLock) {
+            return resultCachedTables.contains(getResultTableKey(tableName));
         }
-        Cursor cursor = writableDatabase.query(tableName,
-                allColNames, " " + columnName + " " + "=?",
-                new String[]{value},
-                null, null, null, "1");
+    }
 
-        if (cursor.getCount() > 0) {
-            return cursor;
-        } else {
-            return null;
+    /**
+     * Remove the cached results of the table - called holding resultLock
+     *
+     * @param tableName name of table
+     */
+    private void removeCachedResults(String tableName) {
+        String prefix = getResultTableKey(tableName) + "|";
+        for (String key : resultCache.snapshot().keySet()) {
+            if (key.startsWith(prefix)) resultCache.remove(key);
+        }
+        Iterator<String> oversized = oversizedResults.iterator();
+        while (oversized.hasNext()) {
+            if (oversized.next().startsWith(prefix)) oversized.remove();
         }
     }
 
-
     /**
-     * Search data from the table
-     *
-     * @param columnNumber  Integer column number in which you want to search
-     * @param valueToSearch String value which you want to search
-     * @param limit         Integer limit - to set the limit of the result
-     * @param tableName     name of table
-     * @return cursor
+     * Disable the result cache and release the cached results
      */
-    public Cursor searchInColumn(int columnNumber, String valueToSearch, int limit, String tableName) {
-        if (!initedDb || writableDatabase == null) initDatabase();
-        String allColNames[] = new String[columns.size() + 1];
-        allColNames[0] = "ID";
-        for (int i = 0; i < columns.size(); i++) {
-            allColNames[i + 1] = columns.get(i).columnName;
+    public void disableResultCache() {
+        synchronized (resultLock) {
+            resultCache = null;
+            oversizedResults.clear();
         }
-        Cursor cursor = writableDatabase.query(tableName,
-                allColNames, allColNames[columnNumber].toString() + "=?",
-                new String[]{valueToSearch},
-                null, null, null, limit == -1 ? null : String.valueOf(limit));
+    }
 
-        if (cursor.getCount() > 0) {
-            return cursor;
-        } else {
-            return null;
+    /**
+     * Remove every cached result
+     */
+    public void clearResultCache() {
+        synchronized (resultLock) {
+            tableGenerations.clear();
+            oversizedResults.clear();
+            if (resultCache != null) resultCache.evictAll();
         }
     }
 
+    /**
+     * Get number of reads served from the result cache
+     *
+     * @return Integer hit count
+     */
+    public int getResultCacheHitCount() {
+        LruCache<String, CachedResult> cache = resultCache;
+        return cache == null ? 0 : cache.hitCount();
+    }
 
     /**
-     * Search data from the table
+     * Get number of reads which had to query the database
      *
-     * @param columnName    String column name in which you want to search
-     * @param valueToSearch String value which you want to search
-     * @param limit         Integer limit - to set the limit of the result
-     * @param tableName     name of table
-     * @return cursor
+     * @return Integer miss count
      */
-    public Cursor searchInColumn(String columnName, String valueToSearch, int limit, String tableName) {
-        if (!initedDb || writableDatabase == null) initDatabase();
-        String allColNames[] = new String[columns.size() + 1];
-        allColNames[0] = "ID";
-        for (int i = 0; i < columns.size(); i++) {
-            allColNames[i + 1] = columns.get(i).columnName;
+    public int getResultCacheMissCount() {
+        LruCache<String, CachedResult> cache = resultCache;
+        return cache == null ? 0 : cache.missCount();
+    }
+
+    /**
+     * Get cursor over the cached result
+     *
+     * @param key       String cache key - starts with getResultTableKey(tableName) + "|"
+     * @param tableName name of table
+     * @return cursor or null if not cached
+     */
+    private Cursor getCachedResult(String key, String tableName) {
+        LruCache<String, CachedResult> cache = resultCache;
+        if (cache == null || !isResultCached(tableName)) return null;
+        CachedResult result = cache.get(key);
+        return result == null ? null : result.toCursor();
+    }
+
+    /**
+     * Copy the cursor into the result cache, unless the table was written since generation was
+     * read or the result exceeds the budget of one result
+     * <p>
+     * A result exceeding the budget is not copied again until its table is written.
+     *
+     * @param key        String cache key - starts with getResultTableKey(tableName) + "|"
+     * @param tableName  name of table
+     * @param generation Integer table generation read before the query
+     * @param cursor     cursor of the query
+     * @return cursor over the copied result, or the query cursor if it was not copied
+     */
+    private Cursor putCachedResult(String key, String tableName, int generation, Cursor cursor) {
+        LruCache<String, CachedResult> cache = resultCache;
+        if (cache == null || !isResultCached(tableName)) return cursor;
+        int maxRows;
+        long maxBytes;
+        synchronized (resultLock) {
+            if (oversizedResults.contains(key)) return cursor;
+            maxRows = resultMaxRows;
+            maxBytes = resultMaxBytes;
         }
-        Cursor cursor = writableDatabase.query(tableName,
-                allColNames, " " + columnName + " " + "=?",
-                new String[]{valueToSearch},
-                null, null, null, limit == -1 ? null : String.valueOf(limit));
+        CachedResult result = CachedResult.fromCursor(cursor, maxRows, maxBytes);
+        synchronized (resultLock) {
+            if (generation != getTableGeneration(tableName)) {
+                // Written meanwhile, the copy may be outdated
+            } else if (result == null) {
+                oversizedResults.add(key);
+            } else {
+                cache.put(key, result);
+            }
+        }
+        return result == null ? cursor : result.toCursor();
+    }
 
-        if (cursor.getCount() > 0) {
-            return cursor;
-        } else {
-            return null;
+    /**
+     * Get write counter of the table
+     *
+     * @param tableName name of table
+     * @return Integer generation
+     */
+    private int getTableGeneration(String tableName) {
+        synchronized (resultLock) {
+            Integer generation = tableGenerations.get(getResultTableKey(tableName));
+            return generation == null ? 0 : generation;
         }
     }
 
     /**
-     * Match column from the give data
+     * Observe a query - it runs once now and again on a background thread after every write
+     * done through the helper to one of the given tables
+     * <p>
+     * Writes arriving within debounceMs of the first write are coalesced into one run. The
+     * listener is called on the main thread only when the result changed; when the query selects
+     * the ID column the listener also gets the IDs of inserted, updated and deleted rows.
+     * <p>
+     * Use:
+     * <p>
+     * QueryObserver observer = liteClass.observe("SELECT * FROM DEMO_TABLE WHERE Age &gt; ?",
+     * new String[]{"18"}, 200, new OnQueryChanged() {...}, "DEMO_TABLE");
+     * ...
+     * observer.cancel();
      *
-     * @param columnsToMatch String array of column name from table - to match the column
-     * @param valuesToMatch  String array of values - to match the data from give array of column
-     * @param tableName      name of table
-     * @return boolean - returns true if match otherwise false if not match
+     * @param sql        String SQL query
+     * @param args       String array of bind arguments, may be null
+     * @param debounceMs Long time in milliseconds to wait for more writes before running the query
+     * @param listener   OnQueryChanged called with the new result
+     * @param tableNames names of tables read by the query
+     * @return QueryObserver - cancel it when the result is no longer needed
      */
-    public boolean matchColumns(String columnsToMatch[], String valuesToMatch[], String tableName) {
-        String query = "";
-        for (int i = 0; i < columnsToMatch.length; i++) {
-            query += columnsToMatch[i] + " = ? ";
-            if (i != columnsToMatch.length - 1) {
-                query += " AND ";
-            }
+    public QueryObserver observe(String sql, String args[], long debounceMs, OnQueryChanged listener, String... tableNames) {
+        if (tableNames == null || tableNames.length == 0) {
+            throw new IllegalArgumentException("Observed query needs at least one table");
         }
-        Cursor cursor = writableDatabase.query(tableName, columnsToMatch, query, valuesToMatch, null, null, null);
-        if (cursor.getCount() > 0) {
-            return true;
-        } else {
-            return false;
+        QueryObserver observer = new QueryObserver(this, sql, args, debounceMs, listener, tableNames);
+        observers.add(observer);
+        observer.onTableChanged(0);
+        return observer;
+    }
+
+    /**
+     * Observe every row of the table - see observe
+     *
+     * @param debounceMs Long time in milliseconds to wait for more writes before reading the table
+     * @param listener   OnQueryChanged called with the new rows
+     * @param tableName  name of table
+     * @return QueryObserver - cancel it when the rows are no longer needed
+     */
+    public QueryObserver observeTable(long debounceMs, OnQueryChanged listener, String tableName) {
+        return observe("SELECT * FROM " + tableName, null, debounceMs, listener, tableName);
+    }
+
+    /**
+     * Remove observer - called by QueryObserver.cancel
+     *
+     * @param observer QueryObserver
+     */
+    void removeObserver(QueryObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Get thread which runs observed queries, created when first needed
+     *
+     * @return ScheduledExecutorService
+     */
+    synchronized ScheduledExecutorService getObserverExecutor() {
+        if (observerExecutor == null) {
+            observerExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "SQLiteDBHelper-observer");
+                    thread.setPriority(Thread.MIN_PRIORITY + 1);
+                    return thread;
+                }
+            });
         }
+        return observerExecutor;
     }
 
     /**
-     * Delete the row by it's ID
+     * Called after every write to the table - removes the cached results of the table right away
+     * and runs the observers of the table, deferred to the commit inside a write transaction
      *
-     * @param id        Integer ID of the row
      * @param tableName name of table
-     * @return boolean - true if row is deleted, false if not delted
      */
-    public boolean deleteRow(int id, String tableName) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        return db.delete(tableName, "id = ?", new String[]{String.valueOf(id)}) == 1;
+    private void notifyTableChanged(String tableName) {
+        invalidateResults(tableName);
+        if (isInWriteTransaction()) {
+            // Observers are notified after the commit
+            writeTransaction.get().changedTables.add(tableName);
+            return;
+        }
+        notifyObservers(tableName);
     }
 
     /**
-     * Delete row by column number and integer data
+     * Run the observers of the table
      *
-     * @param columnNumber Integer column number in which you want delete data
-     * @param valueToMatch Integer data to delete from the row
-     * @param tableName    name of table
-     * @return boolean - true if row is deleted, false if not deleted
+     * @param tableName name of table
      */
-    public boolean deleteRow(int columnNumber, int valueToMatch, String tableName) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        return db.delete(tableName, columns.get(columnNumber - 1).columnName + " = ?", new String[]{String.valueOf(valueToMatch)}) == 1;
+    private void notifyObservers(String tableName) {
+        for (QueryObserver observer : observers) {
+            if (observer.observes(tableName)) observer.onTableChanged();
+        }
     }
 
+    /**
+     * Remove the cached results of the table and bump its generation, so results read before
+     * the write are not cached either
+     *
+     * @param tableName name of table
+     */
+    private void invalidateResults(String tableName) {
+        synchronized (resultLock) {
+            if (resultCache == null) return;
+            tableGenerations.put(getResultTableKey(tableName), getTableGeneration(tableName) + 1);
+            removeCachedResults(tableName);
+        }
+    }
 
     /**
-     * Delete row by column number and string data
+     * Check the current thread is inside a write transaction of the helper
      *
-     * @param columnNumber Integer column number in which you want delete data
-     * @param valueToMatch String data to delete from the row
-     * @param tableName    name of table
-     * @return boolean - true if row is deleted, false if not deleted
+     * @return boolean - true inside a write transaction
      */
-    public boolean deleteRow(int columnNumber, String valueToMatch, String tableName) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        return db.delete(tableName, columns.get(columnNumber - 1).columnName + " = ?", new String[]{valueToMatch}) == 1;
+    private boolean isInWriteTransaction() {
+        WriteTransaction transaction = writeTransaction.get();
+        return transaction != null && transaction.depth > 0;
     }
 
     /**
-     * Delete row by column name and integer data
+     * Set maximum number of query shapes and compiled statements to keep in the statement cache
+     * <p>
+     * Default size is 32 - the current cache is cleared
      *
-     * @param columnName   String column name in which you want delete data
-     * @param valueToMatch Integer data to delete from the row
-     * @param tableName    name of table
-     * @return boolean - true if row is deleted, false if not deleted
+     * @param size Integer maximum number of cached statements
      */
-    public boolean deleteRow(String columnName, int valueToMatch, String tableName) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        return db.delete(tableName, columnName + " = ?", new String[]{String.valueOf(valueToMatch)}) == 1;
+    public void setStatementCacheSize(int size) {
+        synchronized (statementLock) {
+            clearStatementCache();
+            queryCache = new LruCache<>(size);
+            statementCache = newStatementCache(size);
+        }
     }
 
     /**
-     * Delete row by column name and string data
+     * Get number of lookups and deletes served from the statement cache
      *
-     * @param columnName   String column name in which you want delete data
-     * @param valueToMatch String data to delete from the row
-     * @param tableName    name of table
-     * @return boolean - true if row is deleted, false if not deleted
+     * @return Integer hit count
      */
-    public boolean deleteRow(String columnName, String valueToMatch, String tableName) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        return db.delete(tableName, columnName + " = ?", new String[]{valueToMatch}) == 1;
+    public int getStatementCacheHitCount() {
+        return queryCache.hitCount() + statementCache.hitCount();
     }
 
     /**
-     * Delete all data from table
+     * Get number of lookups and deletes which had to build and compile their statement
      *
-     * @param tableName name of table
+     * @return Integer miss count
      */
-    public void deleteAllDataFromTable(String tableName) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        db.execSQL("delete from " + tableName);
+    public int getStatementCacheMissCount() {
+        return queryCache.missCount() + statementCache.missCount();
     }
 
+    /**
+     * Remove every cached query shape and close every cached compiled statement
+     */
+    public void clearStatementCache() {
+        synchronized (statementLock) {
+            queryCache.evictAll();
+            statementCache.evictAll();
+        }
+    }
 
     /**
-     * Delete every table data
+     * Create LRU cache of compiled statements which closes the statements it evicts
+     *
+     * @param size Integer maximum number of statements
+     * @return LruCache
      */
-    public void deleteAllTableData() {
-        SQLiteDatabase db = this.getWritableDatabase();
-        if (tables != null && tables.size() > 0) {
-            Iterator<String> i = tables.iterator();
-            while (i.hasNext()) {
-                db.execSQL("delete from " + i.next());
+    private static LruCache<String, SQLiteStatement> newStatementCache(int size) {
+        return new LruCache<String, SQLiteStatement>(size) {
+            @Override
+            protected void entryRemoved(boolean evicted, String key, SQLiteStatement oldValue, SQLiteStatement newValue) {
+                oldValue.close();
             }
+        };
+    }
+
+    /**
+     * Close the database and release the cached statements
+     * <p>
+     * Operations queued on the async helper are cancelled; running ones get up to
+     * {@value #CLOSE_TIMEOUT_MS} ms to finish before the database is closed.
+     */
+    @Override
+    public void close() {
+        SQLiteAsyncHelper async;
+        synchronized (this) {
+            async = asyncHelper;
+            asyncHelper = null;
+        }
+        // Outside the lock, running operations may need it to finish
+        if (async != null && !async.shutdownNow(CLOSE_TIMEOUT_MS)) {
+            LogHelper.w(TAG, "Async operations still running while the database is closed");
         }
+        closeDatabase();
     }
 
+    /**
+     * Release the cached statements and close the database
+     */
+    private synchronized void closeDatabase() {
+        cancelIdleVacuum();
+        if (observerExecutor != null) {
+            observerExecutor.shutdownNow();
+            observerExecutor = null;
+            for (QueryObserver observer : observers) {
+                observer.onExecutorShutdown();
+            }
+        }
+        clearStatementCache();
+        synchronized (bloomLock) {
+            bloomFilters.clear();
+        }
+        super.close();
+        writableDatabase = null;
+        initedDb = false;
+    }
 
     /**
      * Delete database
@@ -13,10 +13,12 @@ import android.provider.MediaStore;
 import android.webkit.MimeTypeMap;
 
 import com.wings.utils.EncryptConfiguration;
-import com.wings.utils.ImmutablePair;
+import com.wings.utils.OnChunkRead;
 import com.wings.utils.SecurityUtil;
 import com.wings.utils.SizeUnit;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.File;
@@ -25,15 +27,20 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 
 import javax.crypto.Cipher;
+import javax.crypto.CipherOutputStream;
 
 /**
  * Purpose: Task for storage
@@ -41,7 +48,7 @@ import javax.crypto.Cipher;
  *
  * @author NikunjD
  * Created on June 10, 2019
- * Modified on June 11, 2019
+ * Modified on October 18, 2026
  */
 public class StorageHelper {
 
@@ -49,6 +56,7 @@ public class StorageHelper {
     public static final String DURATION_MINUTES = "min";
     public static final String DURATION_SECONDS = "sec";
     private static final String TAG = "StorageHelper";
+    private static final long MAP_REGION_SIZE = 64 * 1024 * 1024;
     private EncryptConfiguration mConfiguration;
     private final Context mContext;
 
@@ -61,6 +69,15 @@ public class StorageHelper {
         mContext = context;
     }
 
+    /**
+     * Set encryption of the files created and read by this helper
+     *
+     * @param configuration encrypt configuration; null to read and write plain files
+     */
+    public void setEncryptConfiguration(EncryptConfiguration configuration) {
+        mConfiguration = configuration;
+    }
+
     /**
      * Get external storage directory
      *
@@ -203,24 +220,137 @@ public class StorageHelper {
      */
 
     public boolean createFile(String path, byte[] content) {
-        try {
-            OutputStream stream = new FileOutputStream(new File(path));
+        OutputStream stream = openOutputStream(path);
+        if (stream == null) {
+            return false;
+        }
 
-            // encrypt if needed
-            if (mConfiguration != null && mConfiguration.isEncrypted()) {
-                content = encrypt(content, Cipher.ENCRYPT_MODE);
+        try {
+            // write chunk by chunk, so encryption never holds a second copy of the content
+            int chunkSize = getChunkSize();
+            for (int offset = 0; offset < content.length; offset += chunkSize) {
+                stream.write(content, offset, Math.min(chunkSize, content.length - offset));
             }
+            stream.close();
+        } catch (IOException e) {
+            LogHelper.e(TAG, "Failed create file");
+            closeSilently(stream);
+            return false;
+        }
+        return true;
+    }
 
-            stream.write(content);
-            stream.flush();
+    /**
+     * Create file with the content of the input stream - copied chunk by chunk and encrypted if
+     * needed, so memory use does not depend on the content size
+     *
+     * @param path    file path
+     * @param content content stream - closed at the end
+     * @return <code>true</code> if file created; <code>false</code> otherwise
+     */
+    public boolean createFile(String path, InputStream content) {
+        OutputStream stream = openOutputStream(path);
+        if (stream == null) {
+            closeSilently(content);
+            return false;
+        }
+
+        try {
+            byte[] buffer = new byte[getChunkSize()];
+            int size;
+            while ((size = content.read(buffer)) != -1) {
+                stream.write(buffer, 0, size);
+            }
             stream.close();
         } catch (IOException e) {
             LogHelper.e(TAG, "Failed create file");
+            closeSilently(stream);
             return false;
+        } finally {
+            closeSilently(content);
         }
         return true;
     }
 
+    /**
+     * Open output stream to the file - encrypts block by block while writing if the encrypt
+     * configuration is enabled. Writes are buffered in chunks of the configured chunk size
+     * <p>
+     * The stream must be closed to write the last encrypted block.
+     *
+     * @param path file path
+     * @return output stream; null if the file or the cipher can not be opened
+     */
+    public OutputStream openOutputStream(String path) {
+        Cipher cipher = null;
+        if (mConfiguration != null && mConfiguration.isEncrypted()) {
+            cipher = SecurityUtil.getCipher(Cipher.ENCRYPT_MODE, mConfiguration.getSecretKey(), mConfiguration.getIvParameter());
+            if (cipher == null) {
+                return null;
+            }
+        }
+
+        try {
+            OutputStream stream = new FileOutputStream(new File(path));
+            if (cipher != null) {
+                stream = new CipherOutputStream(stream, cipher);
+            }
+            return new BufferedOutputStream(stream, getChunkSize());
+        } catch (FileNotFoundException e) {
+            LogHelper.e(TAG, "Failed to open output stream");
+            return null;
+        }
+    }
+
+    /**
+     * Open input stream of the file - decrypts block by block while reading if the encrypt
+     * configuration is enabled. Reads are buffered in chunks of the configured chunk size
+     * <p>
+     * A file with a wrong key or a damaged last block fails with an IOException at the end of
+     * the stream, instead of ending silently like CipherInputStream.
+     *
+     * @param path file path
+     * @return input stream; null if the file or the cipher can not be opened
+     */
+    public InputStream openInputStream(String path) {
+        try {
+            InputStream stream = new BufferedInputStream(new FileInputStream(new File(path)), getChunkSize());
+            if (mConfiguration != null && mConfiguration.isEncrypted()) {
+                return openDecryptStream(stream);
+            }
+            return stream;
+        } catch (FileNotFoundException e) {
+            LogHelper.e(TAG, "Failed to read file to input stream");
+            return null;
+        }
+    }
+
+    /**
+     * Wrap the encrypted stream into a stream decrypting it block by block
+     *
+     * @param stream encrypted stream - closed if the cipher can not be created
+     * @return decrypting stream; null if the cipher can not be created
+     */
+    private InputStream openDecryptStream(InputStream stream) {
+        Cipher cipher = SecurityUtil.getCipher(Cipher.DECRYPT_MODE, mConfiguration.getSecretKey(), mConfiguration.getIvParameter());
+        if (cipher == null) {
+            closeSilently(stream);
+            return null;
+        }
+        return new DecryptInputStream(stream, cipher, getChunkSize());
+    }
+
+    /**
+     * Open channel reading the file - decrypted if the encrypt configuration is enabled
+     *
+     * @param path file path
+     * @return readable channel; null if the file or the cipher can not be opened
+     */
+    public ReadableByteChannel openReadChannel(String path) {
+        InputStream stream = openInputStream(path);
+        return stream != null ? Channels.newChannel(stream) : null;
+    }
+
     /**
      * Create file with bitmap
      *
@@ -265,16 +395,87 @@ public class StorageHelper {
      * @return file content
      */
     public byte[] readFile(String path) {
-        final FileInputStream stream;
         try {
-            stream = new FileInputStream(new File(path));
-            return readFile(stream);
+            return readFile(new FileInputStream(new File(path)));
         } catch (FileNotFoundException e) {
             LogHelper.e(TAG, "Failed to read file to input stream");
             return null;
         }
     }
 
+    /**
+     * Map file into memory - nothing is copied to the heap, pages are loaded when they are accessed.
+     * Only for unencrypted files up to 2 GB, larger files can be read with {@link #readFile(String, OnChunkRead)}
+     * <p>
+     * The mapping stays valid after this call and is released when the buffer is garbage collected.
+     *
+     * @param path file path
+     * @return read-only view on the file content; null if the file can not be mapped
+     */
+    public ByteBuffer mapFile(String path) {
+        if (mConfiguration != null && mConfiguration.isEncrypted()) {
+            LogHelper.w(TAG, "Impossible to map encrypted file, use readFile instead");
+            return null;
+        }
+
+        FileInputStream stream = null;
+        try {
+            stream = new FileInputStream(new File(path));
+            FileChannel channel = stream.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) {
+                LogHelper.w(TAG, "Impossible to map file larger than 2 GB, use readFile with OnChunkRead instead");
+                return null;
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            LogHelper.e(TAG, "Failed to map file");
+            return null;
+        } finally {
+            closeSilently(stream);
+        }
+    }
+
+    /**
+     * Read file chunk by chunk - the file is memory mapped region by region and every chunk is
+     * a read-only view on the mapping, so the heap use does not depend on the file size.
+     * Only for unencrypted files
+     *
+     * @param path     file path
+     * @param consumer called with every chunk of the chunk size of the configuration
+     * @return <code>true</code> if every chunk was read; <code>false</code> on error or if the consumer stopped
+     */
+    public boolean readFile(String path, OnChunkRead consumer) {
+        if (mConfiguration != null && mConfiguration.isEncrypted()) {
+            LogHelper.w(TAG, "Impossible to map encrypted file, use readFile instead");
+            return false;
+        }
+
+        int chunkSize = getChunkSize();
+        FileInputStream stream = null;
+        try {
+            stream = new FileInputStream(new File(path));
+            FileChannel channel = stream.getChannel();
+            long size = channel.size();
+            for (long regionStart = 0; regionStart < size; regionStart += MAP_REGION_SIZE) {
+                ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart,
+                        Math.min(MAP_REGION_SIZE, size - regionStart));
+                for (int position = 0; position < region.capacity(); position += chunkSize) {
+                    region.limit(Math.min(position + chunkSize, region.capacity()));
+                    region.position(position);
+                    if (!consumer.onChunkRead(region.slice(), regionStart + position)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            LogHelper.e(TAG, "Failed to read file");
+            return false;
+        } finally {
+            closeSilently(stream);
+        }
+    }
+
     /**
      * Read text file
      *
@@ -507,86 +708,125 @@ public class StorageHelper {
     }
 
     /**
-     * Read file
+     * Read file - straight into an array of the file size, or decrypted block by block into an
+     * array of the decrypted size if the encrypt configuration is enabled
      *
-     * @param stream input stream
-     * @return file content
+     * @param stream input stream - closed at the end
+     * @return file content; null if the file can not be read or decrypted
      */
-    protected byte[] readFile(final FileInputStream stream) {
-        class Reader extends Thread {
-            byte[] array = null;
-        }
-
-        Reader reader = new Reader() {
-            public void run() {
-                LinkedList<ImmutablePair<byte[], Integer>> chunks
-                        = new LinkedList<ImmutablePair<byte[], Integer>>();
-
-                // read the file and build chunks
-                int size = 0;
-                int globalSize = 0;
-                do {
-                    try {
-                        int chunkSize = mConfiguration != null ? mConfiguration.getChuckSize() : 8192;
-                        // read chunk
-                        byte[] buffer = new byte[chunkSize];
-                        size = stream.read(buffer, 0, chunkSize);
-                        if (size > 0) {
-                            globalSize += size;
-
-                            // add chunk to list
-                            chunks.add(new ImmutablePair<byte[], Integer>(buffer, size));
-                        }
-                    } catch (Exception e) {
-                        // very bad
-                    }
-                } while (size > 0);
-
-                try {
-                    stream.close();
-                } catch (Exception e) {
-                    // very bad
-                }
-
-                array = new byte[globalSize];
+    protected byte[] readFile(FileInputStream stream) {
+        if (mConfiguration == null || !mConfiguration.isEncrypted()) {
+            return readFully(stream);
+        }
+        return readDecrypted(stream);
+    }
 
-                // append all chunks to one array
-                int offset = 0;
-                for (ImmutablePair<byte[], Integer> chunk : chunks) {
-                    // flush chunk to array
-                    System.arraycopy(chunk.element1, 0, array, offset, chunk.element2);
-                    offset += chunk.element2;
-                }
+    /**
+     * Read whole stream of a file into one array of the file size
+     *
+     * @param stream input stream - closed at the end
+     * @return file content; null if the file can not be read
+     */
+    private byte[] readFully(FileInputStream stream) {
+        try {
+            FileChannel channel = stream.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) {
+                LogHelper.w(TAG, "Impossible to read file larger than 2 GB into an array, use readFile with OnChunkRead instead");
+                return null;
+            }
+            ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+            while (content.hasRemaining() && channel.read(content) != -1) {
+                // read until the buffer is full
             }
-        };
+            return content.position() == content.capacity() ? content.array() : Arrays.copyOf(content.array(), content.position());
+        } catch (IOException e) {
+            LogHelper.e(TAG, "Failed to read file");
+            return null;
+        } finally {
+            closeSilently(stream);
+        }
+    }
 
-        reader.start();
+    /**
+     * Read encrypted file and decrypt it block by block into one array of the decrypted size -
+     * the size is known from the padding of the last block, which is decrypted first
+     *
+     * @param file encrypted file stream - closed at the end
+     * @return decrypted content; null if the file can not be read or decrypted
+     */
+    private byte[] readDecrypted(FileInputStream file) {
+        InputStream stream = file;
         try {
-            reader.join();
-        } catch (InterruptedException e) {
-            LogHelper.e(TAG, "Failed on reading file from storage while the locking Thread");
+            FileChannel channel = file.getChannel();
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                LogHelper.w(TAG, "Impossible to read file larger than 2 GB into an array, use openInputStream instead");
+                return null;
+            }
+            byte[] content = new byte[getDecryptedLength(channel, length)];
+            stream = openDecryptStream(new BufferedInputStream(file, getChunkSize()));
+            if (stream == null) {
+                return null;
+            }
+            int offset = 0;
+            int size;
+            while (offset < content.length && (size = stream.read(content, offset, content.length - offset)) != -1) {
+                offset += size;
+            }
+            // reading past the end runs the final block and checks its padding
+            if (offset != content.length || stream.read() != -1) {
+                throw new IOException("Decrypted size differs from the padding of the last block");
+            }
+            return content;
+        } catch (IOException e) {
+            LogHelper.e(TAG, "Failed to decrypt file");
             return null;
+        } finally {
+            closeSilently(stream);
         }
+    }
 
-        if (mConfiguration != null && mConfiguration.isEncrypted()) {
-            return encrypt(reader.array, Cipher.DECRYPT_MODE);
-        } else {
-            return reader.array;
+    /**
+     * Get size of the decrypted content by decrypting only the last block - in CBC mode the
+     * previous encrypted block is the IV of the last one
+     *
+     * @param channel channel of the encrypted file - its position is not changed
+     * @param length  encrypted file size
+     * @return decrypted size in bytes
+     * @throws IOException if the file can not be read or the padding of the last block is not valid
+     */
+    private int getDecryptedLength(FileChannel channel, long length) throws IOException {
+        int blockSize = mConfiguration.getIvParameter().length;
+        if (length == 0 || length % blockSize != 0) {
+            throw new IOException("Encrypted file size is not a multiple of the block size");
+        }
+
+        byte[] tail = new byte[length > blockSize ? 2 * blockSize : blockSize];
+        ByteBuffer buffer = ByteBuffer.wrap(tail);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, length - tail.length + buffer.position()) == -1) {
+                throw new IOException("Encrypted file is shorter than its size");
+            }
+        }
+        byte[] iv = tail.length > blockSize ? Arrays.copyOf(tail, blockSize) : mConfiguration.getIvParameter();
+        Cipher cipher = SecurityUtil.getCipher(Cipher.DECRYPT_MODE, mConfiguration.getSecretKey(), iv);
+        if (cipher == null) {
+            throw new IOException("Failed to create cipher");
+        }
+        try {
+            return (int) (length - blockSize + cipher.doFinal(tail, tail.length - blockSize, blockSize).length);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to decrypt last block", e);
         }
     }
 
     /**
-     * Encrypt or Descrypt the content. <br>
+     * Get size of the chunks files are read and written in
      *
-     * @param content        The content to encrypt or descrypt.
-     * @param encryptionMode Use: {@link Cipher#ENCRYPT_MODE} or
-     *                       {@link Cipher#DECRYPT_MODE}
-     * @return encrypted / decrypted content
+     * @return chunk size in bytes
      */
-    private synchronized byte[] encrypt(byte[] content, int encryptionMode) {
-        final byte[] secretKey = mConfiguration.getSecretKey();
-        final byte[] ivx = mConfiguration.getIvParameter();
-        return SecurityUtil.encrypt(content, encryptionMode, secretKey, ivx);
+    private int getChunkSize() {
+        return mConfiguration != null ? mConfiguration.getChuckSize() : 8192;
     }
 
     /**
@@ -655,6 +895,106 @@ public class StorageHelper {
     }
 
 
+    /**
+     * Input stream decrypting the underlying stream chunk by chunk with Cipher.update and
+     * Cipher.doFinal - padding and block errors are thrown as IOException
+     */
+    private static class DecryptInputStream extends InputStream {
+
+        private final InputStream mInput;
+        private final Cipher mCipher;
+        private final byte[] mEncrypted;
+        private byte[] mDecrypted;
+        private int mPosition;
+        private int mLimit;
+        private boolean mFinished;
+
+        /**
+         * Create decrypting stream
+         *
+         * @param input     encrypted stream
+         * @param cipher    cipher initialized for decryption
+         * @param chunkSize size of the encrypted chunks read at once
+         */
+        DecryptInputStream(InputStream input, Cipher cipher, int chunkSize) {
+            mInput = input;
+            mCipher = cipher;
+            mEncrypted = new byte[chunkSize];
+            mDecrypted = new byte[cipher.getOutputSize(chunkSize)];
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (mPosition == mLimit) {
+                if (mFinished) {
+                    return -1;
+                }
+                fill();
+            }
+            return mDecrypted[mPosition++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (mPosition == mLimit) {
+                if (mFinished) {
+                    return -1;
+                }
+                fill();
+            }
+            int size = Math.min(length, mLimit - mPosition);
+            System.arraycopy(mDecrypted, mPosition, buffer, offset, size);
+            mPosition += size;
+            return size;
+        }
+
+        @Override
+        public int available() {
+            return mLimit - mPosition;
+        }
+
+        @Override
+        public void close() throws IOException {
+            mInput.close();
+        }
+
+        /**
+         * Decrypt the next chunk of the underlying stream, or the final block at its end
+         *
+         * @throws IOException if the stream can not be read or decrypted
+         */
+        private void fill() throws IOException {
+            int size = mInput.read(mEncrypted);
+            try {
+                if (size == -1) {
+                    ensureCapacity(mCipher.getOutputSize(0));
+                    mLimit = mCipher.doFinal(mDecrypted, 0);
+                    mFinished = true;
+                } else {
+                    ensureCapacity(mCipher.getOutputSize(size));
+                    mLimit = mCipher.update(mEncrypted, 0, size, mDecrypted, 0);
+                }
+            } catch (GeneralSecurityException e) {
+                throw new IOException("Failed to decrypt", e);
+            }
+            mPosition = 0;
+        }
+
+        /**
+         * Grow the decrypted buffer if the cipher needs more room
+         *
+         * @param size required size in bytes
+         */
+        private void ensureCapacity(int size) {
+            if (mDecrypted.length < size) {
+                mDecrypted = new byte[size];
+            }
+        }
+    }
+
     /**
      * Get actual path from URI
      * This is for ***onActivityResult*** URI only.
@@ -0,0 +1,162 @@
+package com.wings.utils;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Purpose: In-memory Bloom filter of the values of one column, used by SQLiteDBHelper to answer
+ * "is this value in the table" without a query when the answer is a definite no
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class BloomFilter {
+
+    private final long bits[];
+    private final int bitCount;
+    private final int hashCount;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private long insertions;
+    private long lookups;
+    private long definiteMisses;
+    private long falsePositives;
+
+    /**
+     * Create Bloom filter sized for the expected number of values and false positive rate
+     *
+     * @param expectedInsertions Integer expected number of distinct values
+     * @param falsePositiveRate  Double false positive rate between 0 and 1 (for example 0.01)
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        this.expectedInsertions = Math.max(expectedInsertions, 1);
+        this.falsePositiveRate = falsePositiveRate;
+        long size = (long) Math.ceil(-this.expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bitCount = (int) Math.max(64, Math.min(size, Integer.MAX_VALUE - 63));
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / this.expectedInsertions * Math.log(2)));
+        bits = new long[(bitCount + 63) / 64];
+    }
+
+    /**
+     * Add value to the filter
+     *
+     * @param value String value, null is ignored
+     */
+    public synchronized void put(String value) {
+        if (value == null) return;
+        long hash = hash(value);
+        int h1 = (int) hash, h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    /**
+     * Check if the value might have been added - false means it was definitely never added
+     *
+     * @param value String value
+     * @return boolean - false if value is definitely not in the filter
+     */
+    public synchronized boolean mightContain(String value) {
+        lookups++;
+        if (value == null) return true;
+        long hash = hash(value);
+        int h1 = (int) hash, h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                definiteMisses++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record that a value reported by mightContain was not found in the table
+     */
+    public synchronized void recordFalsePositive() {
+        falsePositives++;
+    }
+
+    /**
+     * Get number of values added
+     *
+     * @return Long number of values
+     */
+    public synchronized long getInsertions() {
+        return insertions;
+    }
+
+    /**
+     * Get expected false positive rate for the values added so far
+     *
+     * @return Double expected false positive rate
+     */
+    public synchronized double getExpectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * insertions / bitCount), hashCount);
+    }
+
+    /**
+     * Check if more values were added than the filter was sized for
+     *
+     * @return boolean - true if the filter should be rebuilt with a bigger size
+     */
+    public synchronized boolean isSaturated() {
+        return insertions > expectedInsertions;
+    }
+
+    /**
+     * Get statistics of the filter
+     * <p>
+     * False positives include values which were deleted from the table, since a Bloom filter
+     * can not forget values.
+     *
+     * @return JSONObject with size, configured and expected false positive rate and lookup counts
+     */
+    public synchronized JSONObject snapshot() {
+        JSONObject snapshot = new JSONObject();
+        try {
+            snapshot.put("bitCount", bitCount);
+            snapshot.put("hashCount", hashCount);
+            snapshot.put("expectedInsertions", expectedInsertions);
+            snapshot.put("insertions", insertions);
+            snapshot.put("falsePositiveRate", falsePositiveRate);
+            snapshot.put("expectedFalsePositiveRate", getExpectedFalsePositiveRate());
+            snapshot.put("lookups", lookups);
+            snapshot.put("definiteMisses", definiteMisses);
+            snapshot.put("falsePositives", falsePositives);
+            long positives = lookups - definiteMisses;
+            snapshot.put("observedFalsePositiveRate", positives == 0 ? 0 : (double) falsePositives / positives);
+        } catch (JSONException e) {
+            e.printStackTrace();
+        }
+        return snapshot;
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the value, mixed with the MurmurHash3 finalizer
+     *
+     * @param value String value
+     * @return Long hash
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53e6a39L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
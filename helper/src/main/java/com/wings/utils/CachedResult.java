@@ -0,0 +1,175 @@
+package com.wings.utils;
+
+import android.database.Cursor;
+import android.database.MatrixCursor;
+
+import java.util.ArrayList;
+
+/**
+ * Purpose: Query result copied out of a cursor, kept in the SQLiteDBHelper result cache
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class CachedResult {
+
+    private static final int ROW_OVERHEAD = 16;
+    private static final int VALUE_OVERHEAD = 16;
+
+    private final String columnNames[];
+    private final ArrayList<Object[]> rows;
+    private final int byteSize;
+
+    private CachedResult(String columnNames[], ArrayList<Object[]> rows, int byteSize) {
+        this.columnNames = columnNames;
+        this.rows = rows;
+        this.byteSize = byteSize;
+    }
+
+    /**
+     * Copy every row of the cursor - the cursor is closed afterwards
+     *
+     * @param cursor cursor to copy
+     * @return CachedResult
+     */
+    public static CachedResult fromCursor(Cursor cursor) {
+        try {
+            return copy(cursor, Integer.MAX_VALUE, Long.MAX_VALUE);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Copy rows of the cursor while they fit the budget - copying stops at the first row which
+     * exceeds it, so a large result is never copied as a whole
+     * <p>
+     * The cursor is closed when the result fits. Otherwise it stays open and is moved before the
+     * first row, so the caller can still read it.
+     *
+     * @param cursor   cursor to copy
+     * @param maxRows  Integer maximum number of rows
+     * @param maxBytes Long maximum estimated size in bytes
+     * @return CachedResult or null if the result exceeds the budget
+     */
+    public static CachedResult fromCursor(Cursor cursor, int maxRows, long maxBytes) {
+        CachedResult result = copy(cursor, maxRows, maxBytes);
+        if (result == null) {
+            cursor.moveToPosition(-1);
+        } else {
+            cursor.close();
+        }
+        return result;
+    }
+
+    /**
+     * Copy rows of the cursor while they fit the budget
+     *
+     * @param cursor   cursor to copy
+     * @param maxRows  Integer maximum number of rows
+     * @param maxBytes Long maximum estimated size in bytes
+     * @return CachedResult or null if the result exceeds the budget
+     */
+    private static CachedResult copy(Cursor cursor, int maxRows, long maxBytes) {
+        String columnNames[] = cursor.getColumnNames();
+        int count = cursor.getCount();
+        if (count > maxRows) return null;
+        ArrayList<Object[]> rows = new ArrayList<>(Math.max(count, 0));
+        long byteSize = 0;
+        while (cursor.moveToNext()) {
+            Object row[] = new Object[columnNames.length];
+            byteSize += ROW_OVERHEAD;
+            for (int i = 0; i < row.length; i++) {
+                switch (cursor.getType(i)) {
+                    case Cursor.FIELD_TYPE_INTEGER:
+                        row[i] = cursor.getLong(i);
+                        break;
+                    case Cursor.FIELD_TYPE_FLOAT:
+                        row[i] = cursor.getDouble(i);
+                        break;
+                    case Cursor.FIELD_TYPE_STRING:
+                        String value = cursor.getString(i);
+                        row[i] = value;
+                        byteSize += 2 * value.length();
+                        break;
+                    case Cursor.FIELD_TYPE_BLOB:
+                        byte blob[] = cursor.getBlob(i);
+                        row[i] = blob;
+                        byteSize += blob.length;
+                        break;
+                    default:
+                        row[i] = null;
+                        break;
+                }
+                byteSize += VALUE_OVERHEAD;
+            }
+            if (byteSize > maxBytes || rows.size() >= maxRows) return null;
+            rows.add(row);
+        }
+        return new CachedResult(columnNames, rows, (int) Math.min(byteSize, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Get number of rows
+     *
+     * @return Integer row count
+     */
+    public int getCount() {
+        return rows.size();
+    }
+
+    /**
+     * Get column names of the result
+     *
+     * @return String array of column names
+     */
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    /**
+     * Get position of the column
+     *
+     * @param columnName String column name
+     * @return Integer column position or -1 if the result has no such column
+     */
+    public int getColumnIndex(String columnName) {
+        for (int i = 0; i < columnNames.length; i++) {
+            if (columnNames[i].equalsIgnoreCase(columnName)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Get values of the row - Long, Double, String, byte[] or null - the array must not be modified
+     *
+     * @param position Integer row position
+     * @return Object array of values
+     */
+    public Object[] getRow(int position) {
+        return rows.get(position);
+    }
+
+    /**
+     * Get estimated memory used by the rows
+     *
+     * @return Integer size in bytes
+     */
+    public int getByteSize() {
+        return byteSize;
+    }
+
+    /**
+     * Create new cursor over the cached rows
+     *
+     * @return cursor
+     */
+    public Cursor toCursor() {
+        MatrixCursor cursor = new MatrixCursor(columnNames, rows.size());
+        for (Object row[] : rows) {
+            cursor.addRow(row);
+        }
+        return cursor;
+    }
+}
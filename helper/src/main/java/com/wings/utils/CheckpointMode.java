@@ -0,0 +1,46 @@
+package com.wings.utils;
+
+/**
+ * Purpose: Write-ahead log checkpoint modes - <em>https://www.sqlite.org/pragma.html#pragma_wal_checkpoint</em>
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+
+public enum CheckpointMode {
+    /**
+     * Checkpoint as many frames as possible without waiting for readers or writers
+     */
+    PASSIVE("PASSIVE"),
+
+    /**
+     * Wait for writers, then checkpoint every frame of the log
+     */
+    FULL("FULL"),
+
+    /**
+     * Like FULL, and also wait for readers so the next writer restarts the log
+     */
+    RESTART("RESTART"),
+
+    /**
+     * Like RESTART, and also truncate the log file to zero bytes (SQLite 3.8.8 and above)
+     */
+    TRUNCATE("TRUNCATE");
+
+    private String mName;
+
+    private CheckpointMode(String name) {
+        mName = name;
+    }
+
+    /**
+     * Get the pragma argument of the enum value.
+     *
+     * @return The pragma argument
+     */
+    public String getPragmaName() {
+        return mName;
+    }
+}
@@ -5,12 +5,16 @@ package com.wings.utils;
  *
  * @author HetalD
  * Created On June 17,2019
- * Modified On June 19,2019
+ * Modified On October 18,2026
  */
 public class Column {
 
     public String columnName;
     public String columnDataType;
+    public String indexName;
+    public boolean uniqueIndex;
+    public String indexWhere;
+    public boolean fullTextSearch;
 
     /**
      * Create column with column type
@@ -32,4 +36,72 @@ public class Column {
         }
         this.columnDataType = finalDatatype;
     }
+
+    /**
+     * Create index on this column together with the table
+     *
+     * @return Column
+     */
+    public Column index() {
+        return index("");
+    }
+
+    /**
+     * Create index on this column together with the table
+     * <p>
+     * Columns of the same table using the same index name are combined into one composite
+     * index, in the order the columns are added
+     *
+     * @param indexName Name of the index, blank for a generated name
+     * @return Column
+     */
+    public Column index(String indexName) {
+        this.indexName = indexName.replaceAll(" ", "_");
+        return this;
+    }
+
+    /**
+     * Create unique index on this column together with the table
+     *
+     * @return Column
+     */
+    public Column uniqueIndex() {
+        return uniqueIndex("");
+    }
+
+    /**
+     * Create unique index on this column together with the table
+     *
+     * @param indexName Name of the index, blank for a generated name - see {@link #index(String)}
+     * @return Column
+     */
+    public Column uniqueIndex(String indexName) {
+        this.uniqueIndex = true;
+        return index(indexName);
+    }
+
+    /**
+     * Make the index of this column partial - only rows matching the where clause are indexed
+     * <p>
+     * Partial indexes need SQLite 3.8.0 (Android 5.0 and above)
+     *
+     * @param where String where clause (Example: partialIndex("Age IS NOT NULL"))
+     * @return Column
+     */
+    public Column partialIndex(String where) {
+        this.indexWhere = where;
+        if (indexName == null) indexName = "";
+        return this;
+    }
+
+    /**
+     * Make this column full-text searchable - SQLiteDBHelper keeps a shadow FTS4 table
+     * of the full-text columns in sync with the table through triggers
+     *
+     * @return Column
+     */
+    public Column fullTextSearch() {
+        this.fullTextSearch = true;
+        return this;
+    }
 }
@@ -0,0 +1,162 @@
+package com.wings.utils;
+
+/**
+ * Purpose: Configuration of the SQLite database opened by SQLiteDBHelper<br>
+ * <br>
+ * <p>
+ * <b>Example:</b><br>
+ * <p>
+ * <pre>
+ * {@code
+ *  DatabaseConfiguration configuration = new DatabaseConfiguration.Builder()
+ *  	.setWriteAheadLogging(true)
+ *  	.setReaderPoolSize(4)
+ *  	.setIncrementalVacuum(true)
+ *  	.setTuningProfile(TuningProfile.READ_HEAVY)
+ *  	.build();
+ *  SQLiteDBHelper liteClass = SQLiteDBHelper.init(this, "TESTDB", 1, configuration);
+ * }
+ * </pre>
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+
+public class DatabaseConfiguration {
+
+    private boolean mWriteAheadLogging;
+    private int mReaderPoolSize;
+    private boolean mIncrementalVacuum;
+    private TuningProfile mTuningProfile;
+
+    private DatabaseConfiguration(Builder builder) {
+        mWriteAheadLogging = builder._writeAheadLogging;
+        mReaderPoolSize = builder._readerPoolSize;
+        mIncrementalVacuum = builder._incrementalVacuum;
+        mTuningProfile = builder._tuningProfile;
+    }
+
+    /**
+     * Check if write-ahead logging is enabled. With write-ahead logging readers run on their
+     * own connections and are not blocked by the writer.
+     *
+     * @return boolean - true if enabled
+     */
+    public boolean isWriteAheadLogging() {
+        return mWriteAheadLogging;
+    }
+
+    /**
+     * Get number of concurrent readers
+     *
+     * @return Integer reader pool size
+     */
+    public int getReaderPoolSize() {
+        return mReaderPoolSize;
+    }
+
+    /**
+     * Check if the database uses incremental auto vacuum, so pages freed by dropped
+     * partitions can be returned to the file system with incremental_vacuum
+     *
+     * @return boolean - true if enabled
+     */
+    public boolean isIncrementalVacuum() {
+        return mIncrementalVacuum;
+    }
+
+    /**
+     * Get PRAGMA preset applied when the database is opened
+     *
+     * @return TuningProfile
+     */
+    public TuningProfile getTuningProfile() {
+        return mTuningProfile;
+    }
+
+    /**
+     * Configuration Builder class. <br>
+     * Following Builder design pattern.
+     */
+    public static class Builder {
+        private boolean _writeAheadLogging = false;
+        private int _readerPoolSize = 4;
+        private boolean _incrementalVacuum = false;
+        private TuningProfile _tuningProfile = TuningProfile.DEFAULT;
+
+        public Builder() {
+        }
+
+        /**
+         * Build the configuration for database.
+         *
+         * @return DatabaseConfiguration
+         */
+        public DatabaseConfiguration build() {
+            return new DatabaseConfiguration(this);
+        }
+
+        /**
+         * Enable write-ahead logging. Reads from getAllData, searchInColumn and the other
+         * query methods then run on reader connections while one writer handles inserts,
+         * updates and deletes.
+         * <p>
+         * The default: <b>false</b>
+         *
+         * @param writeAheadLogging boolean - true to enable
+         * @return The {@link Builder}
+         */
+        public Builder setWriteAheadLogging(boolean writeAheadLogging) {
+            _writeAheadLogging = writeAheadLogging;
+            return this;
+        }
+
+        /**
+         * Set number of readers allowed to run at the same time. The framework opens reader
+         * connections on demand up to its own limit; this size bounds the readers the helper
+         * runs in parallel.
+         * <p>
+         * The default: <b>4</b>
+         *
+         * @param readerPoolSize Integer number of readers, at least 1
+         * @return The {@link Builder}
+         */
+        public Builder setReaderPoolSize(int readerPoolSize) {
+            _readerPoolSize = Math.max(1, readerPoolSize);
+            return this;
+        }
+
+        /**
+         * Use incremental auto vacuum. Space freed by dropped partitions
+         * and deleted rows is then returned to the file system in steps by
+         * SQLiteDBHelper.incrementalVacuum instead of a full VACUUM. An existing database is
+         * converted with one VACUUM the first time it is opened with this setting.
+         * <p>
+         * The default: <b>false</b>
+         *
+         * @param incrementalVacuum boolean - true to enable
+         * @return The {@link Builder}
+         */
+        public Builder setIncrementalVacuum(boolean incrementalVacuum) {
+            _incrementalVacuum = incrementalVacuum;
+            return this;
+        }
+
+        /**
+         * Set PRAGMA preset for page size, cache size, memory map size, synchronous and temp
+         * store. A database with another page size is converted with one VACUUM when it is
+         * opened, except in write-ahead logging mode started outside of this helper. The
+         * profile can be switched later with SQLiteDBHelper.setTuningProfile.
+         * <p>
+         * The default: <b>TuningProfile.DEFAULT</b>
+         *
+         * @param tuningProfile TuningProfile
+         * @return The {@link Builder}
+         */
+        public Builder setTuningProfile(TuningProfile tuningProfile) {
+            _tuningProfile = tuningProfile == null ? TuningProfile.DEFAULT : tuningProfile;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.wings.utils;
+
+/**
+ * Purpose: Line-delimited formats of SQLiteDBHelper.exportTable and SQLiteDBHelper.importTable
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+
+public enum ExportFormat {
+    /**
+     * Comma separated values with a header row of column names - text is always quoted, an empty
+     * unquoted field is null, numbers are unquoted and blobs are written as X'hex' literals
+     */
+    CSV("csv"),
+
+    /**
+     * One JSON object per line keyed by column name - blobs are written as {"blob": "base64"}
+     */
+    JSON_LINES("jsonl");
+
+    private String mExtension;
+
+    private ExportFormat(String extension) {
+        mExtension = extension;
+    }
+
+    /**
+     * Get the file extension of the format.
+     *
+     * @return The file extension
+     */
+    public String getExtension() {
+        return mExtension;
+    }
+}
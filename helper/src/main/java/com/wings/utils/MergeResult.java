@@ -0,0 +1,33 @@
+package com.wings.utils;
+
+/**
+ * Purpose: Counts of rows written by SQLiteDBHelper.mergeRows
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class MergeResult {
+
+    public final int inserted;
+    public final int updated;
+    public final int unchanged;
+
+    /**
+     * Create merge result
+     *
+     * @param inserted  Integer number of new rows
+     * @param updated   Integer number of existing rows with changed values
+     * @param unchanged Integer number of existing rows which already had the same values
+     */
+    public MergeResult(int inserted, int updated, int unchanged) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+    }
+
+    @Override
+    public String toString() {
+        return "inserted: " + inserted + ", updated: " + updated + ", unchanged: " + unchanged;
+    }
+}
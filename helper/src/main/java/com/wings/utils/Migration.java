@@ -0,0 +1,91 @@
+package com.wings.utils;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import java.util.List;
+
+/**
+ * Purpose: Incremental schema change of SQLiteDBHelper from one database version to another
+ * <p>
+ * Use:
+ * <p>
+ * liteClass.addMigration(new Migration(1, 2) {
+ * public void migrate(SQLiteDatabase db) {
+ * addColumn(db, "DEMO_TABLE", new Column("City", "text"));
+ * }
+ * });
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public abstract class Migration {
+
+    public final int startVersion;
+    public final int endVersion;
+
+    /**
+     * Create migration between two versions
+     *
+     * @param startVersion Integer version the migration starts from
+     * @param endVersion   Integer version the database has after the migration
+     */
+    public Migration(int startVersion, int endVersion) {
+        this.startVersion = startVersion;
+        this.endVersion = endVersion;
+    }
+
+    /**
+     * Change the schema - runs inside the upgrade transaction, do not begin or end transactions here
+     *
+     * @param db SQLite database
+     */
+    public abstract void migrate(SQLiteDatabase db);
+
+    /**
+     * Add column to an existing table, keeping every row
+     *
+     * @param db        SQLite database
+     * @param tableName name of table
+     * @param column    Column to add
+     */
+    public static void addColumn(SQLiteDatabase db, String tableName, Column column) {
+        db.execSQL("ALTER TABLE " + tableName + " ADD COLUMN " + column.columnName + " " + column.columnDataType);
+    }
+
+    /**
+     * Recreate table with new columns and copy the rows into it - used for changes ALTER TABLE
+     * cannot do, like changing the type of a column or dropping a column.
+     * <p>
+     * Indexes and triggers of the old table are dropped with it
+     *
+     * @param db            SQLite database
+     * @param tableName     name of table
+     * @param newColumns    List of columns of the new table - ID column is added automatically
+     * @param columnsToCopy String array of columns present in both tables whose values are copied
+     */
+    public static void copyAndSwap(SQLiteDatabase db, String tableName, List<Column> newColumns, String... columnsToCopy) {
+        String newTable = tableName + "_new";
+        String sql = " CREATE TABLE " + newTable + " ( ID INTEGER PRIMARY KEY AUTOINCREMENT ";
+        for (Column column : newColumns) {
+            sql += " , " + column.columnName + " " + column.columnDataType + " ";
+        }
+        sql += " ) ";
+
+        String copy = "ID";
+        for (String column : columnsToCopy) {
+            copy += ", " + column.replaceAll(" ", "_");
+        }
+
+        db.execSQL("DROP TABLE IF EXISTS " + newTable);
+        db.execSQL(sql);
+        db.execSQL("INSERT INTO " + newTable + " (" + copy + ") SELECT " + copy + " FROM " + tableName);
+        db.execSQL("DROP TABLE " + tableName);
+        db.execSQL("ALTER TABLE " + newTable + " RENAME TO " + tableName);
+    }
+
+    @Override
+    public String toString() {
+        return "Migration " + startVersion + " -> " + endVersion;
+    }
+}
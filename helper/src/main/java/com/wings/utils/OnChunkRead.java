@@ -0,0 +1,17 @@
+package com.wings.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Purpose: Listener receiving the content of a file read by StorageHelper.readFile chunk by chunk
+ * <p>
+ * Chunks are read-only views on the memory mapped file - they are not copied to the heap, so
+ * copy out what has to outlive the call. Return false from onChunkRead to stop reading.
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public interface OnChunkRead {
+    boolean onChunkRead(ByteBuffer chunk, long offset);
+}
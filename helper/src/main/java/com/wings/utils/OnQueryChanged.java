@@ -0,0 +1,14 @@
+package com.wings.utils;
+
+/**
+ * Purpose: Listener of an observed query, called on the main thread
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public interface OnQueryChanged {
+    void onQueryChanged(CachedResult result, QueryDiff diff);
+
+    void onQueryFailed(Exception e);
+}
@@ -0,0 +1,25 @@
+package com.wings.utils;
+
+/**
+ * Purpose: Listener for asynchronous SQLiteDBHelper operations - called on the main thread
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public interface OnQueryCompleted<T> {
+
+    /**
+     * Called when the operation completed
+     *
+     * @param result result of the operation
+     */
+    void onQueryCompleted(T result);
+
+    /**
+     * Called when the operation failed - not called for cancelled operations
+     *
+     * @param e exception thrown by the operation
+     */
+    void onQueryFailed(Exception e);
+}
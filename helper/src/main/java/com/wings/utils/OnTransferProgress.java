@@ -0,0 +1,12 @@
+package com.wings.utils;
+
+/**
+ * Purpose: Listener called after every batch of a table export or import
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public interface OnTransferProgress {
+    void onTransferProgress(long rows, long bytes);
+}
@@ -0,0 +1,52 @@
+package com.wings.utils;
+
+/**
+ * Purpose: Time span covered by one partition of a table created with
+ * SQLiteDBHelper.createPartitionedTable - buckets start at midnight UTC, weeks on Monday
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+
+public enum PartitionInterval {
+    /**
+     * One partition per day
+     */
+    DAY(24L * 60 * 60 * 1000, 0),
+
+    /**
+     * One partition per week starting on Monday - 1 January 1970 was a Thursday
+     */
+    WEEK(7L * 24 * 60 * 60 * 1000, 3L * 24 * 60 * 60 * 1000);
+
+    private long mMillis;
+    private long mOffset;
+
+    private PartitionInterval(long millis, long offset) {
+        mMillis = millis;
+        mOffset = offset;
+    }
+
+    /**
+     * Get the length of the interval.
+     *
+     * @return The length in milliseconds
+     */
+    public long getMillis() {
+        return mMillis;
+    }
+
+    /**
+     * Get the start of the bucket which contains the time.
+     *
+     * @param timeMillis Long time in milliseconds since epoch
+     * @return The bucket start in milliseconds since epoch
+     */
+    public long getBucketStart(long timeMillis) {
+        long shifted = timeMillis + mOffset;
+        long bucket = shifted / mMillis;
+        if (shifted < 0 && shifted % mMillis != 0) bucket--;
+        return bucket * mMillis - mOffset;
+    }
+}
@@ -0,0 +1,42 @@
+package com.wings.utils;
+
+/**
+ * Purpose: IDs of the rows which changed between two results of an observed query
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class QueryDiff {
+
+    public final long inserted[];
+    public final long updated[];
+    public final long deleted[];
+
+    /**
+     * Create query diff
+     *
+     * @param inserted Long array of IDs of new rows, in result order
+     * @param updated  Long array of IDs of rows with changed values, in result order
+     * @param deleted  Long array of IDs of rows no longer in the result
+     */
+    public QueryDiff(long inserted[], long updated[], long deleted[]) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.deleted = deleted;
+    }
+
+    /**
+     * Check if no row changed
+     *
+     * @return boolean - true if nothing changed
+     */
+    public boolean isEmpty() {
+        return inserted.length == 0 && updated.length == 0 && deleted.length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "inserted: " + inserted.length + ", updated: " + updated.length + ", deleted: " + deleted.length;
+    }
+}
@@ -0,0 +1,184 @@
+package com.wings.utils;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Purpose: Latency histogram, rows touched and cursor fill time per statement shape,
+ * collected by SQLiteDBHelper when query metrics are enabled
+ * <p>
+ * Literals and bind argument lists are replaced by ? so one shape covers every value, and at most
+ * {@value #MAX_STATEMENTS} shapes are kept - the least recently used shape is dropped first. The
+ * last {@value #MAX_SLOW_STATEMENTS} slow statements are kept with their query plan.
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class QueryMetrics {
+
+    /**
+     * Upper bounds of the latency histogram buckets in milliseconds - the last bucket has no bound
+     */
+    public static final long BUCKET_BOUNDS_MS[] = {1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024};
+
+    /**
+     * Maximum number of statement shapes
+     */
+    public static final int MAX_STATEMENTS = 256;
+
+    /**
+     * Maximum number of slow statements kept
+     */
+    public static final int MAX_SLOW_STATEMENTS = 20;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?:[eE][-+]?\\d+)?\\b");
+    private static final Pattern ARGUMENT_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+
+    private final LinkedHashMap<String, StatementStats> statements = new LinkedHashMap<String, StatementStats>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StatementStats> eldest) {
+            return size() > MAX_STATEMENTS;
+        }
+    };
+    private final ArrayDeque<JSONObject> slowStatements = new ArrayDeque<>();
+
+    /**
+     * Get shape of the statement - string and number literals become ? and lists of ? become one ?
+     *
+     * @param sql String statement
+     * @return String statement shape
+     */
+    public static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return ARGUMENT_LIST.matcher(shape).replaceAll("?");
+    }
+
+    /**
+     * Record one execution of the statement
+     *
+     * @param sql       String statement - recorded under its shape, see {@link #normalize(String)}
+     * @param nanos     Long total time in nanoseconds
+     * @param rows      Long rows returned or changed
+     * @param fillNanos Long time spent filling the cursor window in nanoseconds
+     */
+    public void record(String sql, long nanos, long rows, long fillNanos) {
+        String shape = normalize(sql);
+        synchronized (this) {
+            StatementStats stats = statements.get(shape);
+            if (stats == null) {
+                stats = new StatementStats();
+                statements.put(shape, stats);
+            }
+            stats.count++;
+            stats.totalNanos += nanos;
+            stats.maxNanos = Math.max(stats.maxNanos, nanos);
+            stats.rows += rows;
+            stats.fillNanos += fillNanos;
+
+            long millis = nanos / 1000000;
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MS.length && millis >= BUCKET_BOUNDS_MS[bucket]) {
+                bucket++;
+            }
+            stats.histogram[bucket]++;
+        }
+    }
+
+    /**
+     * Record one slow statement - the oldest one is dropped when more than
+     * {@value #MAX_SLOW_STATEMENTS} are kept
+     *
+     * @param sql   String statement
+     * @param nanos Long total time in nanoseconds
+     * @param rows  Long rows returned or changed
+     * @param plan  String query plan, empty if not explained
+     */
+    public synchronized void recordSlow(String sql, long nanos, long rows, String plan) {
+        JSONObject statement = new JSONObject();
+        try {
+            statement.put("sql", sql);
+            statement.put("timeMs", nanos / 1000000.0);
+            statement.put("rows", rows);
+            statement.put("plan", plan);
+            statement.put("at", System.currentTimeMillis());
+        } catch (JSONException e) {
+            e.printStackTrace();
+        }
+        if (slowStatements.size() == MAX_SLOW_STATEMENTS) slowStatements.removeFirst();
+        slowStatements.addLast(statement);
+    }
+
+    /**
+     * Remove every recorded statement
+     */
+    public synchronized void reset() {
+        statements.clear();
+        slowStatements.clear();
+    }
+
+    /**
+     * Get snapshot of the metrics as JSON, ready to be sent with telemetry
+     * <p>
+     * {"bucketBoundsMs": [1, 2, ...], "statements": [{"sql": ..., "count": ..., "totalMs": ...,
+     * "maxMs": ..., "rows": ..., "fillMs": ..., "histogram": [...]}], "slowStatements": [{"sql": ...,
+     * "timeMs": ..., "rows": ..., "plan": ..., "at": ...}]}
+     *
+     * @return JSONObject snapshot
+     */
+    public synchronized JSONObject snapshot() {
+        JSONObject snapshot = new JSONObject();
+        try {
+            JSONArray bounds = new JSONArray();
+            for (long bound : BUCKET_BOUNDS_MS) {
+                bounds.put(bound);
+            }
+            snapshot.put("bucketBoundsMs", bounds);
+
+            JSONArray list = new JSONArray();
+            for (Map.Entry<String, StatementStats> entry : statements.entrySet()) {
+                StatementStats stats = entry.getValue();
+                JSONObject statement = new JSONObject();
+                statement.put("sql", entry.getKey());
+                statement.put("count", stats.count);
+                statement.put("totalMs", stats.totalNanos / 1000000.0);
+                statement.put("maxMs", stats.maxNanos / 1000000.0);
+                statement.put("rows", stats.rows);
+                statement.put("fillMs", stats.fillNanos / 1000000.0);
+                JSONArray histogram = new JSONArray();
+                for (long value : stats.histogram) {
+                    histogram.put(value);
+                }
+                statement.put("histogram", histogram);
+                list.put(statement);
+            }
+            snapshot.put("statements", list);
+
+            JSONArray slow = new JSONArray();
+            for (JSONObject statement : slowStatements) {
+                slow.put(statement);
+            }
+            snapshot.put("slowStatements", slow);
+        } catch (JSONException e) {
+            e.printStackTrace();
+        }
+        return snapshot;
+    }
+
+    private static class StatementStats {
+        long count;
+        long totalNanos;
+        long maxNanos;
+        long rows;
+        long fillNanos;
+        final long histogram[] = new long[BUCKET_BOUNDS_MS.length + 1];
+    }
+}
@@ -0,0 +1,249 @@
+package com.wings.utils;
+
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.Arrays;
+
+/**
+ * Purpose: Reusable row of typed values, indexed by column position, written by
+ * SQLiteDBHelper.insertRow and SQLiteDBHelper.updateRow
+ * <p>
+ * Values are kept in primitive arrays and bound straight onto a compiled statement, so
+ * writing a row neither boxes values nor hashes column names. Call clear() between rows
+ * to reuse the same buffer.
+ * <p>
+ * Use:
+ * <p>
+ * RowBuffer row = new RowBuffer("Name", "Age", "Photo");
+ * for (Person person : people) {
+ * row.clear().putString(0, person.name).putLong(1, person.age).putBlob(2, person.photo);
+ * liteClass.insertRow(row, "DEMO_TABLE");
+ * }
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class RowBuffer {
+
+    public static final int TYPE_NULL = 0;
+    public static final int TYPE_LONG = 1;
+    public static final int TYPE_DOUBLE = 2;
+    public static final int TYPE_STRING = 3;
+    public static final int TYPE_BLOB = 4;
+
+    private final String columnNames[];
+    private final String columnsKey;
+    private final int types[];
+    private final long longs[];
+    private final double doubles[];
+    private final Object objects[];
+
+    /**
+     * Create row buffer for the given columns - every column is written, columns without a
+     * value as null
+     *
+     * @param columnNames String array of column names
+     */
+    public RowBuffer(String... columnNames) {
+        if (columnNames == null || columnNames.length == 0) {
+            throw new IllegalArgumentException("Row buffer needs at least one column");
+        }
+        this.columnNames = new String[columnNames.length];
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < columnNames.length; i++) {
+            this.columnNames[i] = columnNames[i].trim().replaceAll(" ", "_");
+            key.append(i == 0 ? "" : ",").append(this.columnNames[i]);
+        }
+        columnsKey = key.toString();
+        types = new int[columnNames.length];
+        longs = new long[columnNames.length];
+        doubles = new double[columnNames.length];
+        objects = new Object[columnNames.length];
+    }
+
+    /**
+     * Set every column to null - the buffer keeps its arrays
+     *
+     * @return RowBuffer
+     */
+    public RowBuffer clear() {
+        Arrays.fill(types, TYPE_NULL);
+        Arrays.fill(objects, null);
+        return this;
+    }
+
+    /**
+     * Set long value of the column
+     *
+     * @param column Integer column position
+     * @param value  Long value
+     * @return RowBuffer
+     */
+    public RowBuffer putLong(int column, long value) {
+        types[column] = TYPE_LONG;
+        longs[column] = value;
+        objects[column] = null;
+        return this;
+    }
+
+    /**
+     * Set boolean value of the column - stored as 1 or 0
+     *
+     * @param column Integer column position
+     * @param value  boolean value
+     * @return RowBuffer
+     */
+    public RowBuffer putBoolean(int column, boolean value) {
+        return putLong(column, value ? 1 : 0);
+    }
+
+    /**
+     * Set double value of the column
+     *
+     * @param column Integer column position
+     * @param value  Double value
+     * @return RowBuffer
+     */
+    public RowBuffer putDouble(int column, double value) {
+        types[column] = TYPE_DOUBLE;
+        doubles[column] = value;
+        objects[column] = null;
+        return this;
+    }
+
+    /**
+     * Set String value of the column
+     *
+     * @param column Integer column position
+     * @param value  String value, null for null
+     * @return RowBuffer
+     */
+    public RowBuffer putString(int column, String value) {
+        types[column] = value == null ? TYPE_NULL : TYPE_STRING;
+        objects[column] = value;
+        return this;
+    }
+
+    /**
+     * Set blob value of the column - the array is not copied
+     *
+     * @param column Integer column position
+     * @param value  byte array, null for null
+     * @return RowBuffer
+     */
+    public RowBuffer putBlob(int column, byte value[]) {
+        types[column] = value == null ? TYPE_NULL : TYPE_BLOB;
+        objects[column] = value;
+        return this;
+    }
+
+    /**
+     * Set the column to null
+     *
+     * @param column Integer column position
+     * @return RowBuffer
+     */
+    public RowBuffer putNull(int column) {
+        types[column] = TYPE_NULL;
+        objects[column] = null;
+        return this;
+    }
+
+    /**
+     * Get position of the column
+     *
+     * @param columnName String column name
+     * @return Integer column position or -1 if the buffer has no such column
+     */
+    public int getColumnIndex(String columnName) {
+        String name = columnName.trim().replaceAll(" ", "_");
+        for (int i = 0; i < columnNames.length; i++) {
+            if (columnNames[i].equalsIgnoreCase(name)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Get number of columns
+     *
+     * @return Integer column count
+     */
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * Get column names
+     *
+     * @return String array of column names
+     */
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    /**
+     * Get column names joined by comma - used to look up the compiled statement of the buffer
+     *
+     * @return String column names
+     */
+    public String getColumnsKey() {
+        return columnsKey;
+    }
+
+    /**
+     * Get type of the column value
+     *
+     * @param column Integer column position
+     * @return Integer one of TYPE_NULL, TYPE_LONG, TYPE_DOUBLE, TYPE_STRING, TYPE_BLOB
+     */
+    public int getType(int column) {
+        return types[column];
+    }
+
+    /**
+     * Get value of the column as object - boxes numbers
+     *
+     * @param column Integer column position
+     * @return Long, Double, String, byte[] or null
+     */
+    public Object getValue(int column) {
+        switch (types[column]) {
+            case TYPE_LONG:
+                return longs[column];
+            case TYPE_DOUBLE:
+                return doubles[column];
+            default:
+                return objects[column];
+        }
+    }
+
+    /**
+     * Bind every column to the statement, in column order
+     *
+     * @param statement  compiled SQLite statement
+     * @param firstIndex Integer bind index of the first column (1 based)
+     */
+    public void bindTo(SQLiteStatement statement, int firstIndex) {
+        for (int i = 0; i < types.length; i++) {
+            int index = firstIndex + i;
+            switch (types[i]) {
+                case TYPE_LONG:
+                    statement.bindLong(index, longs[i]);
+                    break;
+                case TYPE_DOUBLE:
+                    statement.bindDouble(index, doubles[i]);
+                    break;
+                case TYPE_STRING:
+                    statement.bindString(index, (String) objects[i]);
+                    break;
+                case TYPE_BLOB:
+                    statement.bindBlob(index, (byte[]) objects[i]);
+                    break;
+                default:
+                    statement.bindNull(index);
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.wings.utils;
+
+/**
+ * Purpose: Listener called for every row while streaming a cursor with SQLiteDBHelper
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public interface RowMapper {
+
+    /**
+     * Called once per row - the row reader is reused, so copy values out before returning
+     *
+     * @param row      row reader positioned at the current row
+     * @param position Integer position of the row in the result
+     * @return boolean - true to continue with the next row, false to stop
+     */
+    boolean onRow(RowReader row, int position);
+}
@@ -0,0 +1,167 @@
+package com.wings.utils;
+
+import android.database.Cursor;
+
+/**
+ * Purpose: Read cursor values by resolved column index without boxing
+ * <p>
+ * Column indexes are resolved once when the reader is created, and every getter
+ * reads straight from the cursor into a primitive or a preallocated array.
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class RowReader {
+
+    private final Cursor cursor;
+    private final int columnIndexes[];
+
+    /**
+     * Create row reader for the given columns
+     *
+     * @param cursor      cursor to read
+     * @param columnNames String array of column names, null for every column of the cursor
+     */
+    public RowReader(Cursor cursor, String... columnNames) {
+        this.cursor = cursor;
+        if (columnNames == null || columnNames.length == 0) {
+            columnIndexes = new int[cursor.getColumnCount()];
+            for (int i = 0; i < columnIndexes.length; i++) {
+                columnIndexes[i] = i;
+            }
+        } else {
+            columnIndexes = new int[columnNames.length];
+            for (int i = 0; i < columnNames.length; i++) {
+                columnIndexes[i] = cursor.getColumnIndexOrThrow(columnNames[i].replaceAll(" ", "_"));
+            }
+        }
+    }
+
+    /**
+     * Get number of columns of the reader
+     *
+     * @return Integer column count
+     */
+    public int getColumnCount() {
+        return columnIndexes.length;
+    }
+
+    /**
+     * Get cursor index of the column
+     *
+     * @param column Integer column position in the reader
+     * @return Integer cursor column index
+     */
+    public int getCursorIndex(int column) {
+        return columnIndexes[column];
+    }
+
+    /**
+     * Get the cursor of the reader
+     *
+     * @return cursor
+     */
+    public Cursor getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Check whether the column of the current row is null
+     *
+     * @param column Integer column position in the reader
+     * @return boolean - true if null
+     */
+    public boolean isNull(int column) {
+        return cursor.isNull(columnIndexes[column]);
+    }
+
+    /**
+     * Get column of the current row as int
+     *
+     * @param column Integer column position in the reader
+     * @return int value
+     */
+    public int getInt(int column) {
+        return cursor.getInt(columnIndexes[column]);
+    }
+
+    /**
+     * Get column of the current row as long
+     *
+     * @param column Integer column position in the reader
+     * @return long value
+     */
+    public long getLong(int column) {
+        return cursor.getLong(columnIndexes[column]);
+    }
+
+    /**
+     * Get column of the current row as double
+     *
+     * @param column Integer column position in the reader
+     * @return double value
+     */
+    public double getDouble(int column) {
+        return cursor.getDouble(columnIndexes[column]);
+    }
+
+    /**
+     * Get column of the current row as String
+     *
+     * @param column Integer column position in the reader
+     * @return String value
+     */
+    public String getString(int column) {
+        return cursor.getString(columnIndexes[column]);
+    }
+
+    /**
+     * Get column of the current row as byte array
+     *
+     * @param column Integer column position in the reader
+     * @return byte array value
+     */
+    public byte[] getBlob(int column) {
+        return cursor.getBlob(columnIndexes[column]);
+    }
+
+    /**
+     * Copy every column of the current row as long into the given array
+     *
+     * @param values long array with at least getColumnCount() items
+     * @return long array given as parameter
+     */
+    public long[] readLongs(long values[]) {
+        for (int i = 0; i < columnIndexes.length; i++) {
+            values[i] = cursor.getLong(columnIndexes[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Copy every column of the current row as double into the given array
+     *
+     * @param values double array with at least getColumnCount() items
+     * @return double array given as parameter
+     */
+    public double[] readDoubles(double values[]) {
+        for (int i = 0; i < columnIndexes.length; i++) {
+            values[i] = cursor.getDouble(columnIndexes[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Copy every column of the current row as String into the given array
+     *
+     * @param values String array with at least getColumnCount() items
+     * @return String array given as parameter
+     */
+    public String[] readStrings(String values[]) {
+        for (int i = 0; i < columnIndexes.length; i++) {
+            values[i] = cursor.getString(columnIndexes[i]);
+        }
+        return values;
+    }
+}
@@ -20,7 +20,7 @@ import javax.crypto.spec.SecretKeySpec;
  *
  * @author NikunjD
  * Created on June 10, 2019
- * Modified on June 10, 2019
+ * Modified on October 18, 2026
  */
 public class SecurityUtil {
 
@@ -47,7 +47,36 @@ public class SecurityUtil {
      * @return
      */
     public static byte[] encrypt(byte[] content, int encryptionMode, final byte[] secretKey, final byte[] ivx) {
-        if (secretKey.length != 16 || ivx.length != 16) {
+        Cipher cipher = getCipher(encryptionMode, secretKey, ivx);
+        if (cipher == null) {
+            return null;
+        }
+
+        try {
+            return cipher.doFinal(content);
+        } catch (IllegalBlockSizeException e) {
+            LogHelper.e(TAG, "Failed to encrypt/decrypt");
+            return null;
+        } catch (BadPaddingException e) {
+            LogHelper.e(TAG, "Failed to encrypt/decrypt");
+            return null;
+        }
+    }
+
+    /**
+     * Get cipher initialized for encryption or decryption - used with CipherOutputStream and
+     * CipherInputStream to encrypt or decrypt content block by block
+     *
+     * @param encryptionMode Use: {@link Cipher#ENCRYPT_MODE} or
+     *                       {@link Cipher#DECRYPT_MODE}
+     * @param secretKey      Set the secret key for encryption of file content.
+     *                       <b>Important: The length must be 16 long</b>
+     * @param ivx            IV parameter - see {@link #encrypt(byte[], int, byte[], byte[])}.
+     *                       <b>Important: The length must be 16 long</b>
+     * @return AES/CBC/PKCS5Padding cipher; null if the parameters are not valid
+     */
+    public static Cipher getCipher(int encryptionMode, final byte[] secretKey, final byte[] ivx) {
+        if (secretKey == null || ivx == null || secretKey.length != 16 || ivx.length != 16) {
             LogHelper.w(TAG, "Set the encryption parameters correctly. The must be 16 length long each");
             return null;
         }
@@ -56,9 +85,9 @@ public class SecurityUtil {
             SecretKey secretkey = new SecretKeySpec(secretKey, CipherAlgorithmType.AES.getAlgorithmName());
             IvParameterSpec IV = new IvParameterSpec(ivx);
             String transformation = CipherTransformationType.AES_CBC_PKCS5Padding;
-            Cipher decipher = Cipher.getInstance(transformation);
-            decipher.init(encryptionMode, secretkey, IV);
-            return decipher.doFinal(content);
+            Cipher cipher = Cipher.getInstance(transformation);
+            cipher.init(encryptionMode, secretkey, IV);
+            return cipher;
         } catch (NoSuchAlgorithmException e) {
             LogHelper.e(TAG, "Failed to encrypt/decrypt - Unknown Algorithm");
             return null;
@@ -71,12 +100,6 @@ public class SecurityUtil {
         } catch (InvalidAlgorithmParameterException e) {
             LogHelper.e(TAG, "Failed to encrypt/decrypt - Invalid Algorithm Parameter");
             return null;
-        } catch (IllegalBlockSizeException e) {
-            LogHelper.e(TAG, "Failed to encrypt/decrypt");
-            return null;
-        } catch (BadPaddingException e) {
-            LogHelper.e(TAG, "Failed to encrypt/decrypt");
-            return null;
         }
     }
 
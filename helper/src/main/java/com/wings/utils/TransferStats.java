@@ -0,0 +1,57 @@
+package com.wings.utils;
+
+import java.util.Locale;
+
+/**
+ * Purpose: Rows, bytes and time of a table export or import done by SQLiteDBHelper
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+public class TransferStats {
+
+    public final long rows;
+    public final long skippedRows;
+    public final long bytes;
+    public final long millis;
+
+    /**
+     * Create transfer stats
+     *
+     * @param rows        Long number of rows exported or imported
+     * @param skippedRows Long number of rows rejected by a constraint during import
+     * @param bytes       Long number of bytes written or read
+     * @param millis      Long duration in milliseconds
+     */
+    public TransferStats(long rows, long skippedRows, long bytes, long millis) {
+        this.rows = rows;
+        this.skippedRows = skippedRows;
+        this.bytes = bytes;
+        this.millis = millis;
+    }
+
+    /**
+     * Get throughput in rows per second
+     *
+     * @return Double rows per second
+     */
+    public double getRowsPerSecond() {
+        return rows * 1000.0 / Math.max(millis, 1);
+    }
+
+    /**
+     * Get throughput in megabytes per second
+     *
+     * @return Double megabytes per second
+     */
+    public double getMegabytesPerSecond() {
+        return bytes / (1024.0 * 1024.0) * 1000.0 / Math.max(millis, 1);
+    }
+
+    @Override
+    public String toString() {
+        return "rows: " + rows + ", skipped: " + skippedRows + ", bytes: " + bytes + ", ms: " + millis
+                + String.format(Locale.US, ", %.0f rows/s, %.2f MB/s", getRowsPerSecond(), getMegabytesPerSecond());
+    }
+}
@@ -0,0 +1,99 @@
+package com.wings.utils;
+
+/**
+ * Purpose: PRAGMA presets applied by SQLiteDBHelper when the database is opened - <em>https://www.sqlite.org/pragma.html</em>
+ * <p>
+ * The page size is stored in the database file and applied with one VACUUM when the database
+ * does not use it yet; cache size, memory map size, synchronous and temp store are applied every
+ * time the database is opened, or when SQLiteDBHelper.setTuningProfile switches the profile.
+ * <p>
+ * Those four are connection settings and only reach the writer connection. With write-ahead
+ * logging, reads run on the reader connections of the framework pool, which keep the SQLite
+ * defaults for cache size, memory map size and temp store; synchronous only affects writes.
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+
+public enum TuningProfile {
+    /**
+     * Keep the SQLite defaults of the device
+     */
+    DEFAULT(0, 0, 0, null, null),
+
+    /**
+     * Large page cache and memory mapped reads for databases read far more often than written
+     */
+    READ_HEAVY(4096, 8192, 64L * 1024 * 1024, "NORMAL", null),
+
+    /**
+     * Fewer syncs and temporary tables in memory for databases written often - safe with write-ahead logging
+     */
+    WRITE_HEAVY(4096, 4096, 0, "NORMAL", "MEMORY"),
+
+    /**
+     * Larger pages, large cache and no syncs while loading data - a power loss during the import
+     * can corrupt the database, so switch back with SQLiteDBHelper.setTuningProfile once it is done
+     */
+    BULK_IMPORT(8192, 16384, 0, "OFF", "MEMORY");
+
+    private int mPageSize;
+    private int mCacheSizeKb;
+    private long mMmapSize;
+    private String mSynchronous;
+    private String mTempStore;
+
+    private TuningProfile(int pageSize, int cacheSizeKb, long mmapSize, String synchronous, String tempStore) {
+        mPageSize = pageSize;
+        mCacheSizeKb = cacheSizeKb;
+        mMmapSize = mmapSize;
+        mSynchronous = synchronous;
+        mTempStore = tempStore;
+    }
+
+    /**
+     * Get page size of the database file
+     *
+     * @return Integer page size in bytes, 0 to keep the default
+     */
+    public int getPageSize() {
+        return mPageSize;
+    }
+
+    /**
+     * Get page cache size of the writer connection
+     *
+     * @return Integer cache size in KiB, 0 to keep the default
+     */
+    public int getCacheSizeKb() {
+        return mCacheSizeKb;
+    }
+
+    /**
+     * Get maximum number of bytes of the database file read through a memory map
+     *
+     * @return Long memory map size in bytes, 0 to keep the default
+     */
+    public long getMmapSize() {
+        return mMmapSize;
+    }
+
+    /**
+     * Get the synchronous pragma argument
+     *
+     * @return String synchronous mode, null to keep the default
+     */
+    public String getSynchronous() {
+        return mSynchronous;
+    }
+
+    /**
+     * Get the temp_store pragma argument
+     *
+     * @return String temp store, null to keep the default
+     */
+    public String getTempStore() {
+        return mTempStore;
+    }
+}
@@ -0,0 +1,220 @@
+package com.wings.helper;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import com.wings.utils.Column;
+import com.wings.utils.MergeResult;
+import com.wings.utils.RowBuffer;
+import com.wings.utils.RowMapper;
+import com.wings.utils.RowReader;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Purpose: Benchmark of SQLiteDBHelper on the JVM - Robolectric runs the helper against a
+ * real SQLite library, so the SQL building and execution paths are the ones used on devices
+ * <p>
+ * Measures insert, point lookup, scan, upsert and delete at every size of the
+ * helper.benchmark.sizes system property and reports ops/s and bytes allocated per op on the
+ * Java heap. Without the property the benchmark is skipped, so regular test runs stay fast.
+ * Results are printed and written as CSV to the file of the helper.benchmark.report system
+ * property, so runs can be compared between releases.
+ * <p>
+ * Use:
+ * <p>
+ * ./gradlew :helper:testDebugUnitTest --tests *SQLiteDBHelperBenchmarkTest -PbenchmarkSizes=1000,100000,1000000
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SQLiteDBHelperBenchmarkTest {
+
+    private static final String TABLE_NAME = "BENCH_TABLE";
+    private static final String COLUMN_NAMES[] = {"Code", "Name", "Amount"};
+    private static final int WARM_UP_ROWS = 1000;
+    private static final int MAX_LOOKUPS = 10000;
+
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final StringBuilder report = new StringBuilder("operation,rows,ops,millis,opsPerSecond,bytesPerOp\n");
+
+    @Test
+    public void benchmark() throws IOException {
+        String sizes = System.getProperty("helper.benchmark.sizes");
+        Assume.assumeTrue("Benchmark runs with -PbenchmarkSizes only", sizes != null && !sizes.trim().isEmpty());
+
+        // Warm up the JIT so the first reported size is not slowed down by compilation
+        run(WARM_UP_ROWS, false);
+        for (String size : sizes.split(",")) {
+            run(Integer.parseInt(size.trim()), true);
+        }
+
+        String reportPath = System.getProperty("helper.benchmark.report");
+        if (reportPath != null) {
+            File file = new File(reportPath);
+            file.getParentFile().mkdirs();
+            Writer writer = new FileWriter(file);
+            try {
+                writer.write(report.toString());
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Run every operation on a new database with the given number of rows
+     *
+     * @param rows   Integer number of rows
+     * @param report boolean - true to report the results
+     */
+    private void run(final int rows, boolean report) {
+        Context context = RuntimeEnvironment.application;
+        String dbName = "BENCH_" + rows + ".db";
+        context.deleteDatabase(dbName);
+        final SQLiteDBHelper helper = SQLiteDBHelper.init(context, dbName)
+                .setTableName(TABLE_NAME)
+                .addColumn(new Column("Code", "text").uniqueIndex())
+                .addColumn(new Column("Name", "text"))
+                .addColumn(new Column("Amount", "integer"))
+                .doneTableColumn(TABLE_NAME);
+        try {
+            measure("insert", rows, rows, report, new Runnable() {
+                @Override
+                public void run() {
+                    helper.runInTransaction(new Runnable() {
+                        @Override
+                        public void run() {
+                            RowBuffer row = new RowBuffer(COLUMN_NAMES);
+                            for (int i = 0; i < rows; i++) {
+                                row.clear().putString(0, "C" + i).putString(1, "Name " + i).putLong(2, i);
+                                helper.insertRow(row, TABLE_NAME);
+                            }
+                        }
+                    });
+                }
+            });
+            assertEquals(rows, helper.query(TABLE_NAME).count().queryForLong());
+
+            final int lookups = Math.min(rows, MAX_LOOKUPS);
+            measure("lookup", rows, lookups, report, new Runnable() {
+                @Override
+                public void run() {
+                    Random random = new Random(rows);
+                    for (int i = 0; i < lookups; i++) {
+                        Cursor cursor = helper.getOneRowData(1 + random.nextInt(rows), TABLE_NAME);
+                        try {
+                            assertTrue(cursor.moveToFirst());
+                        } finally {
+                            cursor.close();
+                        }
+                    }
+                }
+            });
+
+            final long sum[] = new long[1];
+            measure("scan", rows, rows, report, new Runnable() {
+                @Override
+                public void run() {
+                    helper.forEachRow(COLUMN_NAMES, new RowMapper() {
+                        @Override
+                        public boolean onRow(RowReader row, int position) {
+                            sum[0] += row.getLong(2);
+                            return true;
+                        }
+                    }, TABLE_NAME);
+                }
+            });
+            assertEquals((long) rows * (rows - 1) / 2, sum[0]);
+
+            // Every second row changes its amount, the other half is left unchanged
+            final List<Object[]> upserts = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                upserts.add(new Object[]{"C" + i, "Name " + i, i % 2 == 0 ? i + 1 : i});
+            }
+            final MergeResult merge[] = new MergeResult[1];
+            measure("upsert", rows, rows, report, new Runnable() {
+                @Override
+                public void run() {
+                    merge[0] = helper.mergeRows(COLUMN_NAMES, upserts, new String[]{"Code"}, TABLE_NAME);
+                }
+            });
+            assertEquals(0, merge[0].inserted);
+            assertEquals((rows + 1) / 2, merge[0].updated);
+
+            final long ids[] = new long[rows];
+            for (int i = 0; i < rows; i++) {
+                ids[i] = i + 1;
+            }
+            final int deleted[] = new int[1];
+            measure("delete", rows, rows, report, new Runnable() {
+                @Override
+                public void run() {
+                    deleted[0] = helper.deleteRows(ids, TABLE_NAME);
+                }
+            });
+            assertEquals(rows, deleted[0]);
+        } finally {
+            helper.close();
+            context.deleteDatabase(dbName);
+        }
+    }
+
+    /**
+     * Run the task once and record its throughput and allocation
+     *
+     * @param operation String name of the operation
+     * @param rows      Integer number of rows in the table
+     * @param ops       Integer number of operations run by the task
+     * @param report    boolean - true to report the result
+     * @param task      Runnable running the operations
+     */
+    private void measure(String operation, int rows, int ops, boolean report, Runnable task) {
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        task.run();
+        long nanos = System.nanoTime() - start;
+        long allocated = getAllocatedBytes() - allocatedBefore;
+        if (!report) return;
+
+        double opsPerSecond = ops * 1000000000.0 / Math.max(nanos, 1);
+        double bytesPerOp = allocatedBefore < 0 ? -1 : (double) allocated / ops;
+        System.out.println(String.format(Locale.US, "%-8s %9d rows %12.0f ops/s %10.1f B/op",
+                operation, rows, opsPerSecond, bytesPerOp));
+        this.report.append(String.format(Locale.US, "%s,%d,%d,%.3f,%.0f,%.1f\n",
+                operation, rows, ops, nanos / 1000000.0, opsPerSecond, bytesPerOp));
+    }
+
+    /**
+     * Get bytes allocated on the Java heap by the current thread - native SQLite memory is not included
+     *
+     * @return Long allocated bytes, -1 if the JVM does not track allocation
+     */
+    private long getAllocatedBytes() {
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
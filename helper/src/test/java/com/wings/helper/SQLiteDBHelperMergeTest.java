@@ -0,0 +1,86 @@
+package com.wings.helper;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteConstraintException;
+
+import com.wings.utils.Column;
+import com.wings.utils.MergeResult;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Purpose: Check SQLiteDBHelper.mergeRows counts every row and does not drop rows violating constraints
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SQLiteDBHelperMergeTest {
+
+    private static final String DATABASE_NAME = "MERGE_TEST.db";
+    private static final String TABLE_NAME = "MERGE_TABLE";
+    private static final String COLUMN_NAMES[] = {"Code", "Name"};
+
+    private Context context;
+    private SQLiteDBHelper helper;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        context.deleteDatabase(DATABASE_NAME);
+        helper = SQLiteDBHelper.init(context, DATABASE_NAME)
+                .setTableName(TABLE_NAME)
+                .addColumn(new Column("Code", "text").uniqueIndex())
+                .addColumn(new Column("Name", "text", "not null"))
+                .doneTableColumn(TABLE_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void mergeRows_countsInsertedUpdatedAndUnchanged() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"A", "Alpha"});
+        rows.add(new Object[]{"B", "Beta"});
+        MergeResult result = helper.mergeRows(COLUMN_NAMES, rows, new String[]{"Code"}, TABLE_NAME);
+        assertEquals(2, result.inserted);
+
+        rows.set(1, new Object[]{"B", "Bravo"});
+        rows.add(new Object[]{"C", "Charlie"});
+        result = helper.mergeRows(COLUMN_NAMES, rows, new String[]{"Code"}, TABLE_NAME);
+        assertEquals(1, result.inserted);
+        assertEquals(1, result.updated);
+        assertEquals(1, result.unchanged);
+    }
+
+    @Test
+    public void mergeRows_throwsForNewRowViolatingConstraint() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"A", "Alpha"});
+        rows.add(new Object[]{"B", null});
+        try {
+            helper.mergeRows(COLUMN_NAMES, rows, new String[]{"Code"}, TABLE_NAME);
+            fail("Row with null name was not reported");
+        } catch (SQLiteConstraintException e) {
+            // The whole merge is rolled back
+            assertEquals(0, helper.query(TABLE_NAME).count().queryForLong());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.wings.helper;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+
+import com.wings.utils.Column;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Purpose: Check the SQLiteDBHelper result cache never serves rows which are outdated or were rolled back
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SQLiteDBHelperResultCacheTest {
+
+    private static final String DATABASE_NAME = "RESULT_CACHE_TEST.db";
+    private static final String TABLE_NAME = "CACHE_TABLE";
+
+    private Context context;
+    private SQLiteDBHelper helper;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        context.deleteDatabase(DATABASE_NAME);
+        helper = SQLiteDBHelper.init(context, DATABASE_NAME)
+                .setTableName(TABLE_NAME)
+                .addColumn(new Column("Name", "text"))
+                .doneTableColumn(TABLE_NAME);
+        helper.enableResultCache(10).setResultCached(TABLE_NAME, true);
+        insert("A");
+        // Cache the result with one row
+        assertEquals(1, countAllData());
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void readInsideTransaction_seesOwnWrites() {
+        final int counts[] = new int[1];
+        helper.runInTransaction(new Runnable() {
+            @Override
+            public void run() {
+                insert("B");
+                counts[0] = countAllData();
+            }
+        });
+        assertEquals(2, counts[0]);
+        assertEquals(2, countAllData());
+    }
+
+    @Test
+    public void readAfterRollback_doesNotSeeRolledBackRows() {
+        final int counts[] = new int[1];
+        try {
+            helper.runInTransaction(new Runnable() {
+                @Override
+                public void run() {
+                    insert("B");
+                    counts[0] = countAllData();
+                    throw new IllegalStateException("Roll back");
+                }
+            });
+            fail("Transaction did not fail");
+        } catch (IllegalStateException e) {
+            // Rolled back
+        }
+        assertEquals(2, counts[0]);
+        assertEquals(1, countAllData());
+    }
+
+    @Test
+    public void writeThroughOtherSpelling_invalidatesCachedResult() {
+        ContentValues values = new ContentValues();
+        values.put("Name", "B");
+        helper.insertData(" cache_table", values);
+        assertEquals(2, countAllData());
+    }
+
+    /**
+     * Insert one row
+     *
+     * @param name String name
+     */
+    private void insert(String name) {
+        ContentValues values = new ContentValues();
+        values.put("Name", name);
+        helper.insertData(TABLE_NAME, values);
+    }
+
+    /**
+     * Count the rows returned by getAllData
+     *
+     * @return Integer row count
+     */
+    private int countAllData() {
+        Cursor cursor = helper.getAllData(TABLE_NAME);
+        try {
+            return cursor.getCount();
+        } finally {
+            cursor.close();
+        }
+    }
+}
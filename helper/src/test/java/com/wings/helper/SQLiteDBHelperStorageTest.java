@@ -0,0 +1,106 @@
+package com.wings.helper;
+
+import android.content.Context;
+
+import com.wings.utils.Column;
+import com.wings.utils.DatabaseConfiguration;
+import com.wings.utils.TuningProfile;
+
+import org.json.JSONException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Purpose: Check the settings SQLiteDBHelper stores in the database file are applied when it is opened
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SQLiteDBHelperStorageTest {
+
+    private static final String DATABASE_NAME = "STORAGE_TEST.db";
+    private static final String TABLE_NAME = "STORAGE_TABLE";
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void incrementalVacuum_isAppliedToNewDatabase() throws JSONException {
+        SQLiteDBHelper helper = open(new DatabaseConfiguration.Builder().setIncrementalVacuum(true).build());
+        try {
+            assertEquals(2, helper.stats().getLong("autoVacuum"));
+        } finally {
+            helper.close();
+        }
+    }
+
+    @Test
+    public void incrementalVacuum_isAppliedToExistingDatabase() throws JSONException {
+        SQLiteDBHelper helper = open(new DatabaseConfiguration.Builder().build());
+        assertEquals(0, helper.stats().getLong("autoVacuum"));
+        helper.close();
+
+        helper = open(new DatabaseConfiguration.Builder().setIncrementalVacuum(true).build());
+        try {
+            assertEquals(2, helper.stats().getLong("autoVacuum"));
+        } finally {
+            helper.close();
+        }
+    }
+
+    @Test
+    public void tuningProfile_appliesPageSize() throws JSONException {
+        SQLiteDBHelper helper = open(new DatabaseConfiguration.Builder().setTuningProfile(TuningProfile.BULK_IMPORT).build());
+        try {
+            assertEquals(TuningProfile.BULK_IMPORT.getPageSize(), helper.stats().getLong("pageSize"));
+        } finally {
+            helper.close();
+        }
+    }
+
+    @Test
+    public void tuningProfile_canBeSwitchedAtRuntime() throws JSONException {
+        SQLiteDBHelper helper = open(new DatabaseConfiguration.Builder().build());
+        try {
+            helper.setTuningProfile(TuningProfile.BULK_IMPORT);
+            assertEquals(TuningProfile.BULK_IMPORT.name(), helper.stats().getString("tuningProfile"));
+            helper.setTuningProfile(TuningProfile.DEFAULT);
+            assertEquals(TuningProfile.DEFAULT, helper.getTuningProfile());
+        } finally {
+            helper.close();
+        }
+    }
+
+    /**
+     * Open the test database with one table
+     *
+     * @param configuration DatabaseConfiguration
+     * @return SQLiteDBHelper
+     */
+    private SQLiteDBHelper open(DatabaseConfiguration configuration) {
+        return SQLiteDBHelper.init(context, DATABASE_NAME, 1, configuration)
+                .setTableName(TABLE_NAME)
+                .addColumn(new Column("Name", "text"))
+                .doneTableColumn(TABLE_NAME);
+    }
+}
@@ -0,0 +1,139 @@
+package com.wings.helper;
+
+import com.wings.utils.EncryptConfiguration;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Purpose: Check StorageHelper encrypts and decrypts files block by block and reports damaged files
+ * <p>
+ * Runs on API 18, the JVM has no PBKDF2WithHmacSHA1And8bit key factory which EncryptConfiguration
+ * uses from API 19 - both derive the same key from an ASCII password.
+ *
+ * @author HetalD
+ * Created On October 18,2026
+ * Modified On October 18,2026
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 18)
+public class StorageHelperTest {
+
+    private static final String IV = "0123456789abcdef";
+    private static final byte SALT[] = "storage-test-salt".getBytes();
+    private static final int CHUNK_SIZE = 1024;
+
+    private StorageHelper storageHelper;
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        storageHelper = new StorageHelper(RuntimeEnvironment.application);
+        storageHelper.setEncryptConfiguration(newConfiguration("password"));
+        file = File.createTempFile("storage", ".bin");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void roundTrip_emptyContent() throws IOException {
+        assertRoundTrip(new byte[0]);
+    }
+
+    @Test
+    public void roundTrip_oneBlock() throws IOException {
+        assertRoundTrip(randomBytes(16));
+    }
+
+    @Test
+    public void roundTrip_largerThanChunk() throws IOException {
+        assertRoundTrip(randomBytes(3 * CHUNK_SIZE + 5));
+    }
+
+    @Test
+    public void readFile_wrongKey_returnsNull() {
+        assertTrue(storageHelper.createFile(file.getPath(), randomBytes(3 * CHUNK_SIZE + 5)));
+        storageHelper.setEncryptConfiguration(newConfiguration("other password"));
+        assertNull(storageHelper.readFile(file.getPath()));
+    }
+
+    @Test
+    public void readFile_truncatedFile_returnsNull() throws IOException {
+        assertTrue(storageHelper.createFile(file.getPath(), randomBytes(3 * CHUNK_SIZE + 5)));
+        RandomAccessFile content = new RandomAccessFile(file, "rw");
+        try {
+            content.setLength(content.length() - 5);
+        } finally {
+            content.close();
+        }
+        assertNull(storageHelper.readFile(file.getPath()));
+    }
+
+    /**
+     * Write the content and read it back with readFile and openInputStream
+     *
+     * @param content byte array to write
+     * @throws IOException if the stream can not be read
+     */
+    private void assertRoundTrip(byte content[]) throws IOException {
+        assertTrue(storageHelper.createFile(file.getPath(), content));
+        // PKCS5 padding adds 1 to 16 bytes
+        assertEquals((content.length / 16 + 1) * 16, file.length());
+        assertArrayEquals(content, storageHelper.readFile(file.getPath()));
+
+        InputStream stream = storageHelper.openInputStream(file.getPath());
+        try {
+            ByteArrayOutputStream read = new ByteArrayOutputStream();
+            byte buffer[] = new byte[100];
+            int size;
+            while ((size = stream.read(buffer)) != -1) {
+                read.write(buffer, 0, size);
+            }
+            assertArrayEquals(content, read.toByteArray());
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Create encrypt configuration with the password
+     *
+     * @param password String password
+     * @return EncryptConfiguration
+     */
+    private static EncryptConfiguration newConfiguration(String password) {
+        return new EncryptConfiguration.Builder()
+                .setChuckSize(CHUNK_SIZE)
+                .setEncryptContent(IV, password, SALT)
+                .build();
+    }
+
+    /**
+     * Create random content - the same for every run
+     *
+     * @param length Integer number of bytes
+     * @return byte array
+     */
+    private static byte[] randomBytes(int length) {
+        byte bytes[] = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}